@@ -0,0 +1,15 @@
+package com.smartsched.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+
+@Configuration
+public class MongoConfig {
+
+    // ✅ Typed timetable entries are mapped by hand (snake_case layout shared with scheduler.py)
+    @Bean
+    public MongoCustomConversions mongoCustomConversions() {
+        return new MongoCustomConversions(ScheduleSessionConverters.all());
+    }
+}
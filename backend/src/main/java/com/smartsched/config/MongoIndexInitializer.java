@@ -0,0 +1,132 @@
+package com.smartsched.config;
+
+import com.smartsched.model.AllClassAssignment;
+import com.smartsched.model.CustomSchedule;
+import com.smartsched.model.Event;
+import com.smartsched.model.GeneratedSchedule;
+import com.smartsched.model.InstructorAssignment;
+import com.smartsched.model.OutboxMail;
+import com.smartsched.model.ScheduleCandidate;
+import com.smartsched.model.StudentEnrollment;
+import com.smartsched.model.User;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Collation;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+// ✅ Indexes behind the per-user lookups (auto-index-creation is off, so they are ensured here)
+@Component
+public class MongoIndexInitializer {
+
+    // Must match the collation of the *ByEmailInsensitive repository queries
+    public static final Collation CASE_INSENSITIVE = Collation.of("en").strength(2);
+
+    static final String CANDIDATE_TTL_INDEX = "generatedAt_ttl";
+
+    private final MongoTemplate mongoTemplate;
+    private final Duration candidateTtl;
+
+    public MongoIndexInitializer(MongoTemplate mongoTemplate,
+                                 @Value("${smartsched.retention.candidate-ttl-days:7}") long candidateTtlDays) {
+        this.mongoTemplate = mongoTemplate;
+        this.candidateTtl = Duration.ofDays(candidateTtlDays);
+    }
+
+    // Runs in the background so an unreachable database never blocks startup
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        CompletableFuture.runAsync(() -> {
+            try {
+                createIndexes();
+                System.out.println("✅ MongoDB indexes ensured");
+            } catch (Exception e) {
+                System.out.println("⚠️ Could not ensure MongoDB indexes: " + e.getMessage());
+                return;
+            }
+            try {
+                // Unique, so it fails while duplicate tasks from before the upsert remain
+                mongoTemplate.indexOps(CustomSchedule.class).ensureIndex(new Index()
+                        .on("email", Sort.Direction.ASC)
+                        .on("day", Sort.Direction.ASC)
+                        .on("time", Sort.Direction.ASC)
+                        .unique()
+                        .named("email_1_day_1_time_1"));
+            } catch (Exception e) {
+                System.out.println("⚠️ Could not create unique custom_schedule index (duplicate tasks?): " + e.getMessage());
+            }
+            try {
+                ensureCandidateTtl();
+            } catch (Exception e) {
+                System.out.println("⚠️ Could not ensure generated_schedules_all TTL index: " + e.getMessage());
+            }
+        });
+    }
+
+    // ✅ Ranked candidates expire candidate-ttl-days after generation; a changed window is applied with collMod
+    private void ensureCandidateTtl() {
+        try {
+            mongoTemplate.indexOps(ScheduleCandidate.class).ensureIndex(new Index()
+                    .on("generatedAt", Sort.Direction.ASC)
+                    .expire(candidateTtl)
+                    .named(CANDIDATE_TTL_INDEX));
+        } catch (DataAccessException e) {
+            mongoTemplate.getDb().runCommand(new Document("collMod", "generated_schedules_all")
+                    .append("index", new Document("name", CANDIDATE_TTL_INDEX)
+                            .append("expireAfterSeconds", candidateTtl.toSeconds())));
+        }
+    }
+
+    private void createIndexes() {
+        for (Class<?> type : new Class<?>[]{StudentEnrollment.class, InstructorAssignment.class}) {
+            mongoTemplate.indexOps(type).ensureIndex(new Index().on("email", Sort.Direction.ASC).named("email_1"));
+            mongoTemplate.indexOps(type).ensureIndex(new Index().on("email", Sort.Direction.ASC)
+                    .named("email_ci").collation(CASE_INSENSITIVE));
+        }
+
+        mongoTemplate.indexOps(User.class).ensureIndex(new Index().on("email", Sort.Direction.ASC).named("email_1"));
+        mongoTemplate.indexOps(User.class).ensureIndex(new Index().on("groupName", Sort.Direction.ASC).named("groupName_1"));
+
+        // Latest schedule of a user: equality on userEmail, newest first
+        mongoTemplate.indexOps(GeneratedSchedule.class).ensureIndex(new Index()
+                .on("userEmail", Sort.Direction.ASC)
+                .on("generatedAt", Sort.Direction.DESC)
+                .named("userEmail_1_generatedAt_-1"));
+        mongoTemplate.indexOps(GeneratedSchedule.class).ensureIndex(new Index()
+                .on("groupKey", Sort.Direction.ASC)
+                .on("generatedAt", Sort.Direction.DESC)
+                .sparse()
+                .named("groupKey_1_generatedAt_-1"));
+        // Newest-first schedules per owner: the $sort of the conflict and stale-schedule pipelines
+        mongoTemplate.indexOps(GeneratedSchedule.class).ensureIndex(new Index()
+                .on("userEmail", Sort.Direction.ASC)
+                .on("groupKey", Sort.Direction.ASC)
+                .on("generatedAt", Sort.Direction.DESC)
+                .named("userEmail_1_groupKey_1_generatedAt_-1"));
+
+        mongoTemplate.indexOps(AllClassAssignment.class).ensureIndex(new Index().on("groupId", Sort.Direction.ASC).named("groupId_1"));
+        // Upcoming events: range on eventDate, sorted by date and time
+        mongoTemplate.indexOps(Event.class).ensureIndex(new Index()
+                .on("eventDate", Sort.Direction.ASC)
+                .on("eventTime", Sort.Direction.ASC)
+                .named("eventDate_1_eventTime_1"));
+
+        // Due mail for the outbox dispatcher
+        mongoTemplate.indexOps(OutboxMail.class).ensureIndex(new Index()
+                .on("status", Sort.Direction.ASC)
+                .on("nextAttemptAt", Sort.Direction.ASC)
+                .named("status_1_nextAttemptAt_1"));
+
+        // Group names of the admin user list, one $in per page
+        mongoTemplate.indexOps(AllClassAssignment.class).ensureIndex(new Index().on("instructorEmail", Sort.Direction.ASC).named("instructorEmail_1"));
+        mongoTemplate.indexOps(AllClassAssignment.class).ensureIndex(new Index().on("studentEmail", Sort.Direction.ASC).named("studentEmail_1"));
+    }
+}
@@ -0,0 +1,101 @@
+package com.smartsched.config;
+
+import com.smartsched.model.ScheduleSession;
+import org.bson.Document;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.smartsched.model.ScheduleSession.*;
+
+// Field-by-field BSON mapping of timetable entries, replacing reflective Map conversion
+public final class ScheduleSessionConverters {
+
+    private ScheduleSessionConverters() {
+    }
+
+    public static List<Converter<?, ?>> all() {
+        return List.of(new Reader(), new Writer());
+    }
+
+    @ReadingConverter
+    public static class Reader implements Converter<Document, ScheduleSession> {
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public ScheduleSession convert(Document doc) {
+            Map<String, Object> extra = null;
+            for (Map.Entry<String, Object> entry : doc.entrySet()) {
+                if (!KEYS.contains(entry.getKey())) {
+                    if (extra == null) {
+                        extra = new LinkedHashMap<>();
+                    }
+                    extra.put(entry.getKey(), entry.getValue());
+                }
+            }
+            Object event = doc.get(EVENT);
+            return new ScheduleSession(
+                    text(doc, COURSE_ID), text(doc, COURSE_NAME),
+                    text(doc, MODULE_ID), text(doc, MODULE_NAME),
+                    text(doc, GROUP_ID), text(doc, GROUP_NAME),
+                    text(doc, INSTRUCTOR_ID), text(doc, INSTRUCTOR_NAME),
+                    text(doc, LOCATION), text(doc, DAY),
+                    text(doc, START_TIME), text(doc, END_TIME),
+                    event instanceof Map ? (Map<String, Object>) event : null,
+                    text(doc, CLASS_NAME), extra);
+        }
+
+        private static String text(Document doc, String key) {
+            Object value = doc.get(key);
+            return value != null ? value.toString() : null;
+        }
+    }
+
+    @WritingConverter
+    public static class Writer implements Converter<ScheduleSession, Document> {
+
+        @Override
+        public Document convert(ScheduleSession s) {
+            Document doc = new Document();
+            doc.put(COURSE_ID, s.getCourseId());
+            doc.put(COURSE_NAME, s.getCourseName());
+            doc.put(MODULE_ID, s.getModuleId());
+            doc.put(MODULE_NAME, s.getModuleName());
+            doc.put(GROUP_ID, s.getGroupId());
+            doc.put(GROUP_NAME, s.getGroupName());
+            doc.put(INSTRUCTOR_ID, s.getInstructorId());
+            doc.put(INSTRUCTOR_NAME, s.getInstructorName());
+            doc.put(LOCATION, s.getLocation());
+            doc.put(DAY, s.getDay());
+            doc.put(START_TIME, s.getStartTime());
+            doc.put(END_TIME, s.getEndTime());
+            doc.put(EVENT, s.getEvent() != null ? event(s.getEvent()) : null);
+            doc.put(CLASS_NAME, s.getClassName());
+            doc.putAll(s.getExtra());
+            return doc;
+        }
+
+        // Event summaries carry java.time values; store them as dates, the way Spring Data's Jsr310 converters do
+        private static Document event(Map<String, Object> event) {
+            Document doc = new Document();
+            for (Map.Entry<String, Object> entry : event.entrySet()) {
+                Object value = entry.getValue();
+                if (value instanceof LocalDate date) {
+                    value = Date.from(date.atStartOfDay(ZoneId.systemDefault()).toInstant());
+                } else if (value instanceof LocalTime time) {
+                    value = Date.from(time.atDate(LocalDate.now()).atZone(ZoneId.systemDefault()).toInstant());
+                }
+                doc.put(entry.getKey(), value);
+            }
+            return doc;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.smartsched.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class SchedulerConfig {
+
+    // ✅ Shared fork-join pool for GA islands and parallel bulk generation (0 = one worker per core)
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool schedulerPool(@Value("${smartsched.scheduler.parallelism:0}") int parallelism) {
+        int workers = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        return new ForkJoinPool(workers);
+    }
+
+    // ✅ Bounded executor for queued generation jobs; a full queue rejects instead of piling up work
+    @Bean(destroyMethod = "shutdownNow")
+    public ThreadPoolExecutor generationJobExecutor(@Value("${smartsched.jobs.workers:2}") int workers,
+                                                    @Value("${smartsched.jobs.queue-capacity:50}") int queueCapacity) {
+        return new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                daemonThreads("generation-job"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    // ✅ Single background thread that drains mail_outbox; one thread keeps SMTP batches strictly sequential
+    @Bean(destroyMethod = "shutdownNow")
+    public ScheduledExecutorService mailDispatchExecutor() {
+        return new ScheduledThreadPoolExecutor(1, daemonThreads("mail-dispatcher"));
+    }
+
+    // ✅ One long-running thread per Python scheduler worker process (unused with the Java engine)
+    @Bean(destroyMethod = "shutdownNow")
+    public ThreadPoolExecutor pythonWorkerExecutor(@Value("${smartsched.python.workers:2}") int workers) {
+        return new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(workers),
+                daemonThreads("python-worker"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    // ✅ Single background thread for the schedule retention/compaction job
+    @Bean(destroyMethod = "shutdownNow")
+    public ScheduledExecutorService retentionExecutor() {
+        return new ScheduledThreadPoolExecutor(1, daemonThreads("schedule-retention"));
+    }
+
+    // ✅ Wall-clock timeouts of generation jobs; cancelled timers leave the queue at once instead of at their deadline
+    @Bean(destroyMethod = "shutdownNow")
+    public ScheduledExecutorService jobTimeoutExecutor() {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, daemonThreads("generation-job-timeout"));
+        executor.setRemoveOnCancelPolicy(true);
+        return executor;
+    }
+
+    // ✅ BCrypt runs here instead of on Tomcat threads, so a login burst cannot starve other requests
+    @Bean(destroyMethod = "shutdownNow")
+    public ThreadPoolExecutor passwordHashExecutor(@Value("${smartsched.auth.hash-workers:2}") int workers,
+                                                   @Value("${smartsched.auth.hash-queue-capacity:32}") int queueCapacity) {
+        return new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                daemonThreads("password-hash"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    // Named daemon threads (prefix-1, prefix-2, ...) so no executor keeps the JVM alive on shutdown
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
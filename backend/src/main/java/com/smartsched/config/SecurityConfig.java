@@ -5,6 +5,7 @@ import com.smartsched.security.JwtTokenUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.access.expression.method.MethodSecurityExpressionHandler;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -43,8 +44,18 @@ public class SecurityConfig {
                 .requestMatchers("/api/users/login", "/api/users/register", "/api/users/forgot-password").permitAll()
                 .requestMatchers("/api/users/email/**").hasAnyRole("SUPERADMIN", "ADMIN", "STAFF", "STUDENT", "LECTURER")
                 .requestMatchers("/api/schedule/generate/bulk").hasRole("SUPERADMIN")
+                .requestMatchers(HttpMethod.POST, "/api/schedule/jobs").hasRole("SUPERADMIN")
+                .requestMatchers(HttpMethod.POST, "/api/schedule/jobs/*/cancel").hasRole("SUPERADMIN")
+                // job state, log and events: SUPERADMIN or the requester, checked in GenerationJobController
+                .requestMatchers(HttpMethod.GET, "/api/schedule/jobs/**").authenticated()
+                .requestMatchers(HttpMethod.POST, "/api/schedule/jobs/*/events/token").authenticated()
                 .requestMatchers("/api/timetable/all").hasRole("SUPERADMIN")
                 .requestMatchers("/api/timetable/conflicts").hasRole("SUPERADMIN") 
+                .requestMatchers("/api/timetable/cache/stats").hasRole("SUPERADMIN")
+                .requestMatchers("/api/timetable/retention", "/api/timetable/retention/**").hasRole("SUPERADMIN")
+                // queues a generation job: the user themselves or SUPERADMIN, checked in ScheduleController
+                .requestMatchers("/api/timetable/generate/**").authenticated()
+                .requestMatchers("/api/users/auth/stats").hasRole("SUPERADMIN")
                 .requestMatchers("/api/schedule/**", "/api/custom-schedule/**", "/api/timetable/**").permitAll()
 
                 .anyRequest().authenticated()
@@ -2,9 +2,16 @@ package com.smartsched.controller;
 
 import com.smartsched.model.AllClassAssignment;
 import com.smartsched.service.AllClassAssignmentService;
+import com.smartsched.service.ClassAssignmentImportService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -15,12 +22,28 @@ public class AllClassAssignmentController {
     @Autowired
     private AllClassAssignmentService allClassAssignmentService;
 
+    @Autowired
+    private ClassAssignmentImportService classAssignmentImportService;
+
     // Save a new class assignment
     @PostMapping
     public AllClassAssignment saveClassAssignment(@RequestBody AllClassAssignment classAssignment) {
         return allClassAssignmentService.saveClassAssignment(classAssignment);
     }
 
+    // ✅ Bulk import from a .csv (header row) or .ndjson upload; returns counts and per-row errors
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> importClassAssignments(@RequestParam("file") MultipartFile file) {
+        try (InputStream input = file.getInputStream()) {
+            ClassAssignmentImportService.Format format = ClassAssignmentImportService.formatOf(file.getOriginalFilename());
+            return ResponseEntity.ok(classAssignmentImportService.importAssignments(input, format));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (IOException | IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Could not read upload: " + e.getMessage());
+        }
+    }
+
     // Get all class assignments
     @GetMapping
     public List<AllClassAssignment> getAllClassAssignments() {
@@ -3,10 +3,13 @@ package com.smartsched.controller;
 import com.smartsched.model.CustomSchedule;
 import com.smartsched.service.CustomScheduleService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -21,10 +24,15 @@ public class CustomScheduleController {
         this.customScheduleService = customScheduleService;
     }
 
-    // ✅ Save or update a personal task
+    // ✅ Save or update a personal task; 409 when a move targets a slot another task already holds
     @PostMapping
-    public CustomSchedule saveOrUpdateTask(@RequestBody CustomSchedule task) {
-        return customScheduleService.saveOrUpdate(task);
+    public ResponseEntity<?> saveOrUpdateTask(@RequestBody CustomSchedule task) {
+        try {
+            return ResponseEntity.ok(customScheduleService.saveOrUpdate(task));
+        } catch (DuplicateKeyException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of("message", "Another task is already scheduled on " + task.getDay() + " at " + task.getTime()));
+        }
     }
 
     // ✅ Get all tasks for a specific user by email
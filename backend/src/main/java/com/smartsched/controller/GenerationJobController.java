@@ -0,0 +1,115 @@
+package com.smartsched.controller;
+
+import com.smartsched.dto.BulkScheduleRequest;
+import com.smartsched.model.GenerationJob;
+import com.smartsched.security.JwtTokenUtil;
+import com.smartsched.service.GenerationJobService;
+import com.smartsched.service.SuperadminScheduleService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.security.Principal;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/schedule/jobs")
+public class GenerationJobController {
+
+    private final GenerationJobService generationJobService;
+    private final SuperadminScheduleService scheduleService;
+    private final JwtTokenUtil jwtTokenUtil;
+
+    public GenerationJobController(GenerationJobService generationJobService,
+                                   SuperadminScheduleService scheduleService,
+                                   JwtTokenUtil jwtTokenUtil) {
+        this.generationJobService = generationJobService;
+        this.scheduleService = scheduleService;
+        this.jwtTokenUtil = jwtTokenUtil;
+    }
+
+    // ✅ Enqueue a generation job (emails or groupName + role), returns its id right away
+    @PostMapping
+    public ResponseEntity<?> enqueue(@RequestBody BulkScheduleRequest request, Principal principal) {
+        try {
+            GenerationJob job = scheduleService.enqueueBulkSchedules(request, principal != null ? principal.getName() : null);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(Map.of("jobId", job.getId(), "status", job.getStatus()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    // ✅ Job state, progress and the ids of the saved schedules (SUPERADMIN or the requester)
+    @GetMapping("/{id}")
+    public ResponseEntity<GenerationJob> getJob(@PathVariable String id, Authentication authentication) {
+        GenerationJob job = generationJobService.getJob(id).orElse(null);
+        if (job == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (!canRead(job, authentication)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(job);
+    }
+
+    // ✅ Short-lived token for the events stream, passed as ?token= because EventSource cannot set headers
+    @PostMapping("/{id}/events/token")
+    public ResponseEntity<?> streamToken(@PathVariable String id, Authentication authentication) {
+        GenerationJob job = generationJobService.getJob(id).orElse(null);
+        if (job == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (!canRead(job, authentication)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        String role = authentication.getAuthorities().iterator().next().getAuthority().replace("ROLE_", "");
+        String token = jwtTokenUtil.generateStreamToken(authentication.getName(), role, id);
+        return ResponseEntity.ok(Map.of("token", token, "expiresInMs", jwtTokenUtil.getStreamTokenExpirationMillis()));
+    }
+
+    // ✅ Cancel a queued or running job: 202 when cancellation started, 409 when the job already finished
+    @PostMapping("/{id}/cancel")
+    public ResponseEntity<?> cancel(@PathVariable String id, Principal principal) {
+        GenerationJob job = generationJobService.getJob(id).orElse(null);
+        if (job == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (generationJobService.cancel(id, principal != null ? principal.getName() : null)) {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(Map.of("jobId", id, "status", "CANCELLING"));
+        }
+        String message = job.isFinished()
+                ? "Job already finished with status " + job.getStatus()
+                : "Job is not running on this server or is already being cancelled";
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("message", message));
+    }
+
+    // ✅ Live job events: status, generation (GA statistics), early-stop, user and a final done
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamEvents(@PathVariable String id, Authentication authentication) {
+        GenerationJob job = generationJobService.getJob(id).orElse(null);
+        if (job == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (!canRead(job, authentication)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return generationJobService.streamEvents(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // Jobs carry the requested e-mails and the generation log, so only SUPERADMIN and the requester may read them
+    private static boolean canRead(GenerationJob job, Authentication authentication) {
+        if (authentication == null) {
+            return false;
+        }
+        boolean superadmin = authentication.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_SUPERADMIN".equals(authority.getAuthority()));
+        return superadmin || authentication.getName().equalsIgnoreCase(String.valueOf(job.getRequestedBy()));
+    }
+}
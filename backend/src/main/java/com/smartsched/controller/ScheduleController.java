@@ -1,18 +1,20 @@
 package com.smartsched.controller;
 
 import com.smartsched.model.GeneratedSchedule;
+import com.smartsched.model.GenerationJob;
+import com.smartsched.model.ScheduleSession;
 import com.smartsched.repository.GeneratedScheduleRepository;
+import com.smartsched.service.GenerationJobService;
+import com.smartsched.service.LatestScheduleCache;
+import com.smartsched.service.ScheduleRetentionService;
 import com.smartsched.service.ScheduleService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 
-import java.io.BufferedReader;
-import java.io.File;
-import java.io.IOException;
-import java.io.InputStreamReader;
 import java.util.List;
 import java.util.Map;
 
@@ -27,6 +29,15 @@ public class ScheduleController {
     @Autowired
     private GeneratedScheduleRepository scheduleRepo;
 
+    @Autowired
+    private GenerationJobService generationJobService;
+
+    @Autowired
+    private LatestScheduleCache latestScheduleCache;
+
+    @Autowired
+    private ScheduleRetentionService retentionService;
+
 
     {/*@GetMapping("/student/{email}")
     public Map<String, List<Map<String, Object>>> getStudentTimetable(@PathVariable String email) {
@@ -34,7 +45,7 @@ public class ScheduleController {
 }*/}
 
     @GetMapping("/instructor/{email}")
-    public Map<String, List<Map<String, Object>>> getInstructorTimetable(@PathVariable String email) {
+    public Map<String, List<ScheduleSession>> getInstructorTimetable(@PathVariable String email) {
         return scheduleService.getScheduleForInstructor(email);
     }
 
@@ -45,33 +56,22 @@ public class ScheduleController {
 
     // ✅ FINAL - Generate Timetable for a Specific User Based on Email & Role
     @GetMapping("/generate/{email}/{role}")
-    public ResponseEntity<String> generateTimetableForUser(@PathVariable String email, @PathVariable String role) {
+    // Only the user themselves or a SUPERADMIN may queue a run for an email; the job is attributed to the caller
+    public ResponseEntity<String> generateTimetableForUser(@PathVariable String email, @PathVariable String role,
+                                                           Authentication authentication) {
+        boolean superadmin = authentication.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_SUPERADMIN".equals(authority.getAuthority()));
+        if (!superadmin && !authentication.getName().equalsIgnoreCase(email)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("❌ You can only generate your own timetable");
+        }
         try {
-            // ✅ Full path to venv Python interpreter
-            String pythonPath = "/Users/pramodravisanka/Documents/Year 3 Semester 2/ITPM/smartsched/backend/venv/bin/python3";
-            String scriptPath = "src/main/resources/ai/scheduler.py";
-
-            // ✅ Add --email and --role arguments for Python to handle
-            ProcessBuilder pb = new ProcessBuilder(
-                    pythonPath, scriptPath,
-                    "--email", email,
-                    "--role", role);
-
-            pb.directory(new File(System.getProperty("user.dir")));
-            pb.redirectErrorStream(true);
-
-            Process process = pb.start();
-
-            try (BufferedReader reader = new BufferedReader(
-                    new InputStreamReader(process.getInputStream()))) {
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    System.out.println("[PYTHON OUTPUT] " + line);
-                }
-            }
-
-            return ResponseEntity.ok("✅ Timetable generation started for " + role + ": " + email);
-        } catch (IOException e) {
+            GenerationJob job = generationJobService.enqueue(List.of(email), role, null, authentication.getName());
+
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body("✅ Timetable generation started for " + role + ": " + email + " | Job: " + job.getId());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("❌ " + e.getMessage());
+        } catch (RuntimeException e) {
             e.printStackTrace();
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("❌ Failed to run scheduler: " + e.getMessage());
@@ -92,4 +92,32 @@ public class ScheduleController {
             return ResponseEntity.ok(conflicts);
     }
 
+    // ✅ Hit/miss/eviction counters of the latest-schedule cache, for sizing it
+    @PreAuthorize("hasRole('SUPERADMIN')")
+    @GetMapping("/cache/stats")
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        return ResponseEntity.ok(latestScheduleCache.stats());
+    }
+
+    // ✅ Deleted schedules and bytes reclaimed by the last retention pass
+    @PreAuthorize("hasRole('SUPERADMIN')")
+    @GetMapping("/retention")
+    public ResponseEntity<?> getRetentionReport() {
+        Map<String, Object> report = retentionService.getLastReport();
+        if (report == null) {
+            return ResponseEntity.ok(Map.of("message", "Retention has not run yet."));
+        }
+        return ResponseEntity.ok(report);
+    }
+
+    @PreAuthorize("hasRole('SUPERADMIN')")
+    @PostMapping("/retention/run")
+    public ResponseEntity<Map<String, String>> runRetention() {
+        try {
+            retentionService.trigger();
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(Map.of("message", "Retention pass queued."));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("message", e.getMessage()));
+        }
+    }
 }
@@ -1,5 +1,6 @@
 package com.smartsched.controller;
 
+import com.smartsched.dto.EnrollmentChange;
 import com.smartsched.model.StudentEnrollment;
 import com.smartsched.service.StudentEnrollmentService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -105,6 +106,16 @@ public class StudentEnrollmentController {
         return ResponseEntity.ok(updatedEnrollment);
     }
 
+    // Apply many enrollment changes in one bulk write
+    @PostMapping("/bulk")
+    public ResponseEntity<?> applyChanges(@RequestBody List<EnrollmentChange> changes) {
+        try {
+            return ResponseEntity.ok(studentEnrollmentService.applyChanges(changes));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     // Search students by name
     @GetMapping("/search")
     public ResponseEntity<List<StudentEnrollment>> searchStudents(
@@ -2,10 +2,13 @@ package com.smartsched.controller;
 
 import com.smartsched.dto.BulkScheduleRequest;
 import com.smartsched.model.ConflictIssue;
+import com.smartsched.model.GenerationJob;
 import com.smartsched.service.SuperadminScheduleService;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.security.Principal;
 import java.util.List;
 import java.util.Map;
 
@@ -20,9 +23,17 @@ public class SuperadminScheduleController {
     }
 
     @PostMapping("/generate/bulk")
-    public ResponseEntity<?> generateBulk(@RequestBody BulkScheduleRequest request) {
-        Map<String, Object> result = scheduleService.generateBulkSchedules(request);
-        return ResponseEntity.ok(result);
+    public ResponseEntity<?> generateBulk(@RequestBody BulkScheduleRequest request, Principal principal) {
+        try {
+            GenerationJob job = scheduleService.enqueueBulkSchedules(request, principal != null ? principal.getName() : null);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(Map.of(
+                    "message", "Timetable generation queued for " + job.getTotalUsers() + " user(s).",
+                    "jobId", job.getId()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("message", e.getMessage()));
+        }
     }
 
     @PostMapping("/conflicts")
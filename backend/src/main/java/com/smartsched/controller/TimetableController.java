@@ -1,5 +1,6 @@
 package com.smartsched.controller;
 
+import com.smartsched.model.ScheduleSession;
 import com.smartsched.service.TimetableService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
@@ -16,7 +17,7 @@ public class TimetableController {
     private TimetableService timetableService;
 
     @GetMapping("/{userId}")
-    public List<Map<String, Object>> getUserTimetable(@PathVariable String userId) {
+    public List<ScheduleSession> getUserTimetable(@PathVariable String userId) {
         return timetableService.getTimetableForUser(userId);
     }
 
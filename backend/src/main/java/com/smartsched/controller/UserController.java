@@ -3,6 +3,9 @@ package com.smartsched.controller;
 import com.smartsched.model.User;
 import com.smartsched.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -12,7 +15,12 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import com.smartsched.security.JwtTokenUtil;
+import com.smartsched.security.LoginRateLimiter;
+import com.smartsched.service.PasswordHashingService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
 
 
 @RestController
@@ -26,11 +34,25 @@ public class UserController {
     @Autowired
 private JwtTokenUtil jwtTokenUtil;
 
+    @Autowired
+    private LoginRateLimiter loginRateLimiter;
+
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
 @PostMapping("/login")
-public ResponseEntity<?> loginUser(@RequestBody Map<String, String> loginRequest) {
+public ResponseEntity<?> loginUser(@RequestBody Map<String, String> loginRequest, HttpServletRequest request) {
     String email = loginRequest.get("email");
     String password = loginRequest.get("password");
 
+    // ✅ Throttle per account and per IP before any BCrypt work
+    long retryAfter = loginRateLimiter.tryAcquire(email, request.getRemoteAddr());
+    if (retryAfter > 0) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter))
+                .body("Too many login attempts, try again in " + retryAfter + " seconds");
+    }
+
     try {
         User user = userService.authenticateUser(email, password);
 
@@ -41,11 +63,23 @@ public ResponseEntity<?> loginUser(@RequestBody Map<String, String> loginRequest
         response.put("user", user);
 
         return ResponseEntity.ok(response);
+    } catch (IllegalStateException e) {
+        // password hashing pool saturated
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(e.getMessage());
     } catch (RuntimeException e) {
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(e.getMessage());
     }
 }
 
+    // ✅ Password hashing pool metrics (superadmin only)
+    @GetMapping("/auth/stats")
+    @PreAuthorize("hasRole('SUPERADMIN')")
+    public ResponseEntity<Map<String, Object>> getAuthStats() {
+        return ResponseEntity.ok(passwordHashingService.stats());
+    }
+
 
     // ✅ Register new user
     @PostMapping("/register")
@@ -60,6 +94,8 @@ public ResponseEntity<?> loginUser(@RequestBody Map<String, String> loginRequest
 
             User registeredUser = userService.registerUser(user);
             return new ResponseEntity<>(registeredUser, HttpStatus.CREATED);
+        } catch (IllegalStateException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.SERVICE_UNAVAILABLE);
         } catch (RuntimeException e) {
             return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
         }
@@ -67,17 +103,52 @@ public ResponseEntity<?> loginUser(@RequestBody Map<String, String> loginRequest
 
 
     // ✅ Get all users (Admin + Superadmin only)
+    // Without ?page the full list is returned as before; ?page=0&size=50&sort=fullName,desc returns a page
    @GetMapping
 @PreAuthorize("@customSecurity.checkUserRoles(authentication, 'admin', 'superadmin', 'user manager', 'assignment manager')")
-public ResponseEntity<?> getAllUsers() {
+public ResponseEntity<?> getAllUsers(@RequestParam(required = false) Integer page,
+                                     @RequestParam(defaultValue = "50") int size,
+                                     @RequestParam(defaultValue = "fullName,asc") String sort) {
     try {
-        List<User> users = userService.getAllUsersWithGroups(); // ✅ Fix here
-        return new ResponseEntity<>(users, HttpStatus.OK);
+        Sort order = parseSort(sort);
+        if (page == null) {
+            return new ResponseEntity<>(userService.getAllUsersWithGroups(order), HttpStatus.OK);
+        }
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            return new ResponseEntity<>("page must be >= 0 and size between 1 and " + MAX_PAGE_SIZE, HttpStatus.BAD_REQUEST);
+        }
+
+        Page<User> users = userService.getUsersWithGroups(PageRequest.of(page, size, order));
+        Map<String, Object> response = new HashMap<>();
+        response.put("content", users.getContent());
+        response.put("page", users.getNumber());
+        response.put("size", users.getSize());
+        response.put("totalElements", users.getTotalElements());
+        response.put("totalPages", users.getTotalPages());
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    } catch (IllegalArgumentException e) {
+        return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
     } catch (RuntimeException e) {
         return new ResponseEntity<>(e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
     }
 }
 
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final Set<String> SORTABLE_FIELDS = Set.of("fullName", "email", "role", "contact", "groupName");
+
+    // "field" or "field,asc|desc"; only listed fields so the password hash can never be used as a sort key
+    private static Sort parseSort(String sort) {
+        String[] parts = sort.split(",");
+        String field = parts[0].trim();
+        if (!SORTABLE_FIELDS.contains(field)) {
+            throw new IllegalArgumentException("Cannot sort users by " + field);
+        }
+        Sort.Direction direction = parts.length > 1
+                ? Sort.Direction.fromString(parts[1].trim())
+                : Sort.Direction.ASC;
+        return Sort.by(direction, field);
+    }
+
 
     // ✅ Get user by ID (All roles)
     @GetMapping("/{id}")
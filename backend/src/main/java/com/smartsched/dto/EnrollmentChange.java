@@ -0,0 +1,64 @@
+package com.smartsched.dto;
+
+// One edit of a student enrollment, as sent to POST /api/student-enrollments/bulk
+public class EnrollmentChange {
+
+    public enum Operation { ADD_COURSE, REMOVE_COURSE, ADD_MODULE, REMOVE_MODULE, ASSIGN_CLASS }
+
+    private String enrollmentId;
+    private Operation operation;
+    private String courseName;
+    private String moduleName;
+    private String className;
+
+    public EnrollmentChange() {
+    }
+
+    public EnrollmentChange(String enrollmentId, Operation operation, String courseName, String moduleName, String className) {
+        this.enrollmentId = enrollmentId;
+        this.operation = operation;
+        this.courseName = courseName;
+        this.moduleName = moduleName;
+        this.className = className;
+    }
+
+    public String getEnrollmentId() {
+        return enrollmentId;
+    }
+
+    public void setEnrollmentId(String enrollmentId) {
+        this.enrollmentId = enrollmentId;
+    }
+
+    public Operation getOperation() {
+        return operation;
+    }
+
+    public void setOperation(Operation operation) {
+        this.operation = operation;
+    }
+
+    public String getCourseName() {
+        return courseName;
+    }
+
+    public void setCourseName(String courseName) {
+        this.courseName = courseName;
+    }
+
+    public String getModuleName() {
+        return moduleName;
+    }
+
+    public void setModuleName(String moduleName) {
+        this.moduleName = moduleName;
+    }
+
+    public String getClassName() {
+        return className;
+    }
+
+    public void setClassName(String className) {
+        this.className = className;
+    }
+}
@@ -1,14 +1,56 @@
 package com.smartsched.model;
 
 public class ConflictIssue {
+
+    public enum Type { INSTRUCTOR, GROUP, ROOM, MISSING_MODULE, INVALID_TIME, UNSCHEDULED }
+
     private String userEmail;
     private String issue;
+    private Type type;
+
+    // Set for INSTRUCTOR/GROUP/ROOM clashes
+    private String resource;
+    private String day;
+    private String overlapStart;
+    private String overlapEnd;
+    private String otherUserEmail;
+    private ScheduleSession first;
+    private ScheduleSession second;
 
     public ConflictIssue(String userEmail, String issue) {
         this.userEmail = userEmail;
         this.issue = issue;
     }
 
+    public ConflictIssue(String userEmail, Type type, String issue) {
+        this(userEmail, issue);
+        this.type = type;
+    }
+
+    // ✅ Two sessions holding the same instructor, group or room at overlapping times
+    public static ConflictIssue clash(Type type, String resource, String day, String overlapStart, String overlapEnd,
+                                      String userEmail, ScheduleSession first, String otherUserEmail, ScheduleSession second) {
+        String issue = label(type) + " clash on " + day + " " + overlapStart + "-" + overlapEnd + ": " + resource
+                + " is double-booked for " + describe(first) + " and " + describe(second);
+        ConflictIssue conflict = new ConflictIssue(userEmail, type, issue);
+        conflict.resource = resource;
+        conflict.day = day;
+        conflict.overlapStart = overlapStart;
+        conflict.overlapEnd = overlapEnd;
+        conflict.otherUserEmail = otherUserEmail;
+        conflict.first = first;
+        conflict.second = second;
+        return conflict;
+    }
+
+    private static String label(Type type) {
+        return type.name().charAt(0) + type.name().substring(1).toLowerCase();
+    }
+
+    private static String describe(ScheduleSession session) {
+        return session.getModuleName() + " (" + session.getGroupName() + ", " + session.getStartTime() + "-" + session.getEndTime() + ")";
+    }
+
     public String getUserEmail() {
         return userEmail;
     }
@@ -16,4 +58,36 @@ public class ConflictIssue {
     public String getIssue() {
         return issue;
     }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getResource() {
+        return resource;
+    }
+
+    public String getDay() {
+        return day;
+    }
+
+    public String getOverlapStart() {
+        return overlapStart;
+    }
+
+    public String getOverlapEnd() {
+        return overlapEnd;
+    }
+
+    public String getOtherUserEmail() {
+        return otherUserEmail;
+    }
+
+    public ScheduleSession getFirst() {
+        return first;
+    }
+
+    public ScheduleSession getSecond() {
+        return second;
+    }
 }
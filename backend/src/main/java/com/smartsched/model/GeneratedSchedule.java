@@ -5,8 +5,11 @@ import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
-import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
 
 @Document(collection = "generated_schedules")
 public class GeneratedSchedule {
@@ -16,20 +19,25 @@ public class GeneratedSchedule {
 
     private String userEmail; // 🔥 ADD THIS FIELD
 
+    // Set instead of userEmail on a schedule shared by every student of the same class groups
+    private String groupKey;
+    private List<String> memberEmails;
+
     private String generatedBy;
     private int fitnessScore;
+    private String batchId;
 
     @Field(name = "generatedAt")
     private LocalDateTime generatedAt;
 
-    private List<Map<String, Object>> timetable;
+    private List<ScheduleSession> timetable;
 
     public GeneratedSchedule() {
     }
 
     public GeneratedSchedule(String id, String userEmail, String generatedBy, int fitnessScore,
             LocalDateTime generatedAt,
-            List<Map<String, Object>> timetable) {
+            List<ScheduleSession> timetable) {
         this.id = id;
         this.userEmail = userEmail;
         this.generatedBy = generatedBy;
@@ -66,6 +74,14 @@ public class GeneratedSchedule {
         this.fitnessScore = fitnessScore;
     }
 
+    public String getBatchId() {
+        return batchId;
+    }
+
+    public void setBatchId(String batchId) {
+        this.batchId = batchId;
+    }
+
     public LocalDateTime getGeneratedAt() {
         return generatedAt;
     }
@@ -74,11 +90,48 @@ public class GeneratedSchedule {
         this.generatedAt = generatedAt;
     }
 
-    public List<Map<String, Object>> getTimetable() {
+    public List<ScheduleSession> getTimetable() {
         return timetable;
     }
 
-    public void setTimetable(List<Map<String, Object>> timetable) {
+    public void setTimetable(List<ScheduleSession> timetable) {
         this.timetable = timetable;
     }
+
+    public String getGroupKey() {
+        return groupKey;
+    }
+
+    public void setGroupKey(String groupKey) {
+        this.groupKey = groupKey;
+    }
+
+    public List<String> getMemberEmails() {
+        return memberEmails;
+    }
+
+    public void setMemberEmails(List<String> memberEmails) {
+        this.memberEmails = memberEmails;
+    }
+
+    // ✅ Whose latest schedule this is: the user's email, or the group key of a shared schedule
+    public String owner() {
+        return userEmail != null ? userEmail : groupKey;
+    }
+
+    // "group:g1,g2" for a set of class group ids, independent of order; null when there are none
+    public static String groupKey(Collection<String> groupIds) {
+        TreeSet<String> ids = groupIds.stream().filter(Objects::nonNull).collect(Collectors.toCollection(TreeSet::new));
+        return ids.isEmpty() ? null : GROUP_KEY_PREFIX + String.join(",", ids);
+    }
+
+    public static List<String> groupIdsOf(String groupKey) {
+        return isGroupKey(groupKey) ? List.of(groupKey.substring(GROUP_KEY_PREFIX.length()).split(",")) : List.of();
+    }
+
+    public static boolean isGroupKey(String owner) {
+        return owner != null && owner.startsWith(GROUP_KEY_PREFIX);
+    }
+
+    public static final String GROUP_KEY_PREFIX = "group:";
 }
@@ -0,0 +1,105 @@
+package com.smartsched.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Document(collection = "generation_jobs")
+public class GenerationJob {
+
+    public enum Status { QUEUED, RUNNING, SUCCEEDED, FAILED, CANCELLED }
+
+    @Id
+    private String id;
+
+    private Status status;
+    private String role;
+    private String groupName;
+    private String requestedBy;
+    private List<String> emails = new ArrayList<>();
+
+    private int totalUsers;
+    private int completedUsers;
+    private List<String> resultScheduleIds = new ArrayList<>();
+    private List<String> skippedEmails = new ArrayList<>();
+    private String message;
+    private String error;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+
+    public GenerationJob() {
+    }
+
+    public GenerationJob(List<String> emails, String role, String groupName, String requestedBy) {
+        this.emails = new ArrayList<>(emails);
+        this.role = role;
+        this.groupName = groupName;
+        this.requestedBy = requestedBy;
+        this.totalUsers = emails.size();
+        this.status = Status.QUEUED;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // Percentage of users processed so far
+    public int getProgress() {
+        if (status == Status.SUCCEEDED) {
+            return 100;
+        }
+        return totalUsers == 0 ? 0 : (int) (100L * completedUsers / totalUsers);
+    }
+
+    public boolean isFinished() {
+        return status == Status.SUCCEEDED || status == Status.FAILED || status == Status.CANCELLED;
+    }
+
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
+
+    public String getRole() { return role; }
+    public void setRole(String role) { this.role = role; }
+
+    public String getGroupName() { return groupName; }
+    public void setGroupName(String groupName) { this.groupName = groupName; }
+
+    public String getRequestedBy() { return requestedBy; }
+    public void setRequestedBy(String requestedBy) { this.requestedBy = requestedBy; }
+
+    public List<String> getEmails() { return emails; }
+    public void setEmails(List<String> emails) { this.emails = emails; }
+
+    public int getTotalUsers() { return totalUsers; }
+    public void setTotalUsers(int totalUsers) { this.totalUsers = totalUsers; }
+
+    public int getCompletedUsers() { return completedUsers; }
+    public void setCompletedUsers(int completedUsers) { this.completedUsers = completedUsers; }
+
+    public List<String> getResultScheduleIds() { return resultScheduleIds; }
+    public void setResultScheduleIds(List<String> resultScheduleIds) { this.resultScheduleIds = resultScheduleIds; }
+
+    public List<String> getSkippedEmails() { return skippedEmails; }
+    public void setSkippedEmails(List<String> skippedEmails) { this.skippedEmails = skippedEmails; }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(LocalDateTime finishedAt) { this.finishedAt = finishedAt; }
+}
@@ -0,0 +1,66 @@
+package com.smartsched.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// One ranked timetable of a generation run (same shape scheduler.py writes); expired by a TTL index on generatedAt
+@Document(collection = "generated_schedules_all")
+public class ScheduleCandidate {
+
+    @Id
+    private String id;
+
+    private String userEmail;
+    private String groupKey;
+    private String batchId;
+    private int rank;
+    private int fitnessScore;
+    private LocalDateTime generatedAt;
+    private List<ScheduleSession> timetable;
+
+    public ScheduleCandidate() {
+    }
+
+    // Owned by a user, or by a class group set when the owner is a GeneratedSchedule group key
+    public ScheduleCandidate(String owner, String batchId, int rank, int fitnessScore,
+                             LocalDateTime generatedAt, List<ScheduleSession> timetable) {
+        if (GeneratedSchedule.isGroupKey(owner)) {
+            this.groupKey = owner;
+        } else {
+            this.userEmail = owner;
+        }
+        this.batchId = batchId;
+        this.rank = rank;
+        this.fitnessScore = fitnessScore;
+        this.generatedAt = generatedAt;
+        this.timetable = timetable;
+    }
+
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getUserEmail() { return userEmail; }
+    public void setUserEmail(String userEmail) { this.userEmail = userEmail; }
+
+    public String getGroupKey() { return groupKey; }
+    public void setGroupKey(String groupKey) { this.groupKey = groupKey; }
+
+    public String getBatchId() { return batchId; }
+    public void setBatchId(String batchId) { this.batchId = batchId; }
+
+    public int getRank() { return rank; }
+    public void setRank(int rank) { this.rank = rank; }
+
+    public int getFitnessScore() { return fitnessScore; }
+    public void setFitnessScore(int fitnessScore) { this.fitnessScore = fitnessScore; }
+
+    public LocalDateTime getGeneratedAt() { return generatedAt; }
+    public void setGeneratedAt(LocalDateTime generatedAt) { this.generatedAt = generatedAt; }
+
+    public List<ScheduleSession> getTimetable() { return timetable; }
+    public void setTimetable(List<ScheduleSession> timetable) { this.timetable = timetable; }
+}
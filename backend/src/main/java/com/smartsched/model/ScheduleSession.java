@@ -0,0 +1,149 @@
+package com.smartsched.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+// One timetable entry of a generated schedule, stored and served with the snake_case keys scheduler.py writes.
+// Mapped by ScheduleSessionConverters (Mongo) and JsonWriter (Jackson), never by reflection.
+@JsonSerialize(using = ScheduleSession.JsonWriter.class)
+public final class ScheduleSession {
+
+    public static final String COURSE_ID = "course_id";
+    public static final String COURSE_NAME = "course_name";
+    public static final String MODULE_ID = "module_id";
+    public static final String MODULE_NAME = "module_name";
+    public static final String GROUP_ID = "group_id";
+    public static final String GROUP_NAME = "group_name";
+    public static final String INSTRUCTOR_ID = "instructor_id";
+    public static final String INSTRUCTOR_NAME = "instructor_name";
+    public static final String LOCATION = "location";
+    public static final String DAY = "day";
+    public static final String START_TIME = "start_time";
+    public static final String END_TIME = "end_time";
+    public static final String EVENT = "event";
+    public static final String CLASS_NAME = "className";
+
+    public static final Set<String> KEYS = Set.of(COURSE_ID, COURSE_NAME, MODULE_ID, MODULE_NAME, GROUP_ID, GROUP_NAME,
+            INSTRUCTOR_ID, INSTRUCTOR_NAME, LOCATION, DAY, START_TIME, END_TIME, EVENT, CLASS_NAME);
+
+    private final String courseId;
+    private final String courseName;
+    private final String moduleId;
+    private final String moduleName;
+    private final String groupId;
+    private final String groupName;
+    private final String instructorId;
+    private final String instructorName;
+    private final String location;
+    private final String day;
+    private final String startTime;
+    private final String endTime;
+    private final Map<String, Object> event;
+    private final String className;
+    // Keys outside the schema (e.g. the legacy "module"), kept so old documents round-trip unchanged
+    private final Map<String, Object> extra;
+
+    public ScheduleSession(String courseId, String courseName, String moduleId, String moduleName,
+                           String groupId, String groupName, String instructorId, String instructorName,
+                           String location, String day, String startTime, String endTime,
+                           Map<String, Object> event, String className, Map<String, Object> extra) {
+        this.courseId = courseId;
+        this.courseName = courseName;
+        this.moduleId = moduleId;
+        this.moduleName = moduleName;
+        this.groupId = groupId;
+        this.groupName = groupName;
+        this.instructorId = instructorId;
+        this.instructorName = instructorName;
+        this.location = location;
+        this.day = day;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.event = event;
+        this.className = className;
+        this.extra = extra == null || extra.isEmpty() ? Collections.emptyMap() : Collections.unmodifiableMap(extra);
+    }
+
+    // ✅ Identity of a cell in the timetable grid, used to show a repeated session once
+    public DisplayKey displayKey() {
+        return new DisplayKey(moduleName, groupName, day, startTime, endTime, location);
+    }
+
+    // ✅ Entries accepted by the filter, each grid cell once (first occurrence wins)
+    public static List<ScheduleSession> distinctCells(List<ScheduleSession> timetable, Predicate<ScheduleSession> filter) {
+        Set<DisplayKey> seen = new HashSet<>();
+        List<ScheduleSession> result = new ArrayList<>();
+        for (ScheduleSession session : timetable) {
+            if (filter.test(session) && seen.add(session.displayKey())) {
+                result.add(session);
+            }
+        }
+        return result;
+    }
+
+    public record DisplayKey(String moduleName, String groupName, String day,
+                             String startTime, String endTime, String location) {
+    }
+
+    // Module the entry belongs to: the legacy "module" key wins, like the old lecturer filter
+    public String moduleKey() {
+        Object module = extra.get("module");
+        return module != null ? module.toString() : moduleName;
+    }
+
+    public String getCourseId() { return courseId; }
+    public String getCourseName() { return courseName; }
+    public String getModuleId() { return moduleId; }
+    public String getModuleName() { return moduleName; }
+    public String getGroupId() { return groupId; }
+    public String getGroupName() { return groupName; }
+    public String getInstructorId() { return instructorId; }
+    public String getInstructorName() { return instructorName; }
+    public String getLocation() { return location; }
+    public String getDay() { return day; }
+    public String getStartTime() { return startTime; }
+    public String getEndTime() { return endTime; }
+    public Map<String, Object> getEvent() { return event; }
+    public String getClassName() { return className; }
+    public Map<String, Object> getExtra() { return extra; }
+
+    // Writes the same JSON object the Map-based timetable produced
+    public static class JsonWriter extends JsonSerializer<ScheduleSession> {
+
+        @Override
+        public void serialize(ScheduleSession s, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject();
+            gen.writeStringField(COURSE_ID, s.courseId);
+            gen.writeStringField(COURSE_NAME, s.courseName);
+            gen.writeStringField(MODULE_ID, s.moduleId);
+            gen.writeStringField(MODULE_NAME, s.moduleName);
+            gen.writeStringField(GROUP_ID, s.groupId);
+            gen.writeStringField(GROUP_NAME, s.groupName);
+            gen.writeStringField(INSTRUCTOR_ID, s.instructorId);
+            gen.writeStringField(INSTRUCTOR_NAME, s.instructorName);
+            gen.writeStringField(LOCATION, s.location);
+            gen.writeStringField(DAY, s.day);
+            gen.writeStringField(START_TIME, s.startTime);
+            gen.writeStringField(END_TIME, s.endTime);
+            gen.writeFieldName(EVENT);
+            provider.defaultSerializeValue(s.event, gen);
+            gen.writeStringField(CLASS_NAME, s.className);
+            for (Map.Entry<String, Object> entry : s.extra.entrySet()) {
+                gen.writeFieldName(entry.getKey());
+                provider.defaultSerializeValue(entry.getValue(), gen);
+            }
+            gen.writeEndObject();
+        }
+    }
+}
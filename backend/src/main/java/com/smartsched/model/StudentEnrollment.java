@@ -6,6 +6,8 @@ import org.springframework.data.mongodb.core.mapping.Document;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
 
 @Document(collection = "student_enrollments")
 public class StudentEnrollment {
@@ -89,4 +91,18 @@ public class StudentEnrollment {
     public void setCourseClasses(Map<String, String> courseClasses) {
         this.courseClasses = courseClasses;
     }
-}
\ No newline at end of file
+
+    // ✅ Class groups of the enrolled courses only; courseClasses entries of dropped courses are ignored
+    public Set<String> classGroupIds() {
+        Set<String> groupIds = new TreeSet<>();
+        if (courses != null && courseClasses != null) {
+            for (String course : courses) {
+                String groupId = courseClasses.get(course);
+                if (groupId != null) {
+                    groupIds.add(groupId);
+                }
+            }
+        }
+        return groupIds;
+    }
+}
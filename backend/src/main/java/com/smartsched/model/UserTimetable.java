@@ -0,0 +1,62 @@
+package com.smartsched.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// Read model of one user's timetable page: the latest schedule already filtered and de-duplicated
+@Document(collection = "user_timetables")
+public class UserTimetable {
+
+    public static final String STUDENT = "student";
+    public static final String LECTURER = "lecturer";
+
+    @Id
+    private String id; // role:email (lower case)
+
+    private String email;
+    private String role;
+    private String scheduleId;
+    private String generatedAt;
+    private List<ScheduleSession> timetable = new ArrayList<>();
+    private LocalDateTime refreshedAt;
+
+    public UserTimetable() {
+    }
+
+    public UserTimetable(String email, String role) {
+        this.id = key(role, email);
+        this.email = email;
+        this.role = role;
+    }
+
+    public static String key(String role, String email) {
+        return role + ":" + email.toLowerCase(Locale.ROOT);
+    }
+
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getEmail() { return email; }
+    public void setEmail(String email) { this.email = email; }
+
+    public String getRole() { return role; }
+    public void setRole(String role) { this.role = role; }
+
+    public String getScheduleId() { return scheduleId; }
+    public void setScheduleId(String scheduleId) { this.scheduleId = scheduleId; }
+
+    public String getGeneratedAt() { return generatedAt; }
+    public void setGeneratedAt(String generatedAt) { this.generatedAt = generatedAt; }
+
+    public List<ScheduleSession> getTimetable() { return timetable; }
+    public void setTimetable(List<ScheduleSession> timetable) { this.timetable = timetable; }
+
+    public LocalDateTime getRefreshedAt() { return refreshedAt; }
+    public void setRefreshedAt(LocalDateTime refreshedAt) { this.refreshedAt = refreshedAt; }
+}
@@ -6,6 +6,7 @@ import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -16,6 +17,11 @@ public interface AllClassAssignmentRepository
 
     List<AllClassAssignment> findByGroupName(String groupName);
 
+    List<AllClassAssignment> findByGroupId(String groupId);
+
+    List<AllClassAssignment> findByModuleNameInAndGroupIdInAndInstructorId(
+            Collection<String> moduleNames, Collection<String> groupIds, String instructorId);
+
     @Query("{ $or: [ { 'instructorEmail': ?0 }, { 'studentEmail': ?0 } ] }")
     List<AllClassAssignment> findByEmailMatch(String email);
 }
@@ -1,6 +1,7 @@
 package com.smartsched.repository;
 
 import com.smartsched.model.CustomSchedule;
+import com.smartsched.repository.custom.CustomCustomScheduleRepository;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
@@ -8,10 +9,13 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface CustomScheduleRepository extends MongoRepository<CustomSchedule, String> {
+public interface CustomScheduleRepository extends MongoRepository<CustomSchedule, String>, CustomCustomScheduleRepository {
     List<CustomSchedule> findByEmail(String email);
 
     Optional<CustomSchedule> findByEmailAndDayAndTime(String email, String day, String time);
 
     void deleteByEmailAndDayAndTime(String email, String day, String time);
-}
\ No newline at end of file
+
+    // Server-side deleteMany; returns the number of removed tasks
+    long deleteByEmail(String email);
+}
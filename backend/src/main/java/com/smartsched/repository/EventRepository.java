@@ -1,9 +1,16 @@
 package com.smartsched.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import com.smartsched.model.Event;
 
+import java.time.LocalDate;
+import java.util.List;
 
 public interface EventRepository extends MongoRepository<Event, String> {
 
-}
\ No newline at end of file
+    List<Event> findByEventDateGreaterThanEqual(LocalDate date);
+
+    // Range on the eventDate index; sort and limit come from the Pageable and run server-side
+    List<Event> findByEventDateGreaterThanEqual(LocalDate date, Pageable pageable);
+}
@@ -1,6 +1,7 @@
 package com.smartsched.repository;
 
 import com.smartsched.model.GeneratedSchedule;
+import com.smartsched.repository.custom.CustomGeneratedScheduleRepository;
 
 import java.util.List;
 
@@ -8,11 +9,16 @@ import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface GeneratedScheduleRepository extends MongoRepository<GeneratedSchedule, String> {
+public interface GeneratedScheduleRepository extends MongoRepository<GeneratedSchedule, String>, CustomGeneratedScheduleRepository {
 
     // Fetch the most recent schedule for a specific user
     GeneratedSchedule findTopByUserEmailAndTimetableNotNullOrderByGeneratedAtDesc(String email);
 
 
+    // Most recent schedule shared by a set of class groups (see GeneratedSchedule.groupKey)
+    GeneratedSchedule findTopByGroupKeyAndTimetableNotNullOrderByGeneratedAtDesc(String groupKey);
+
     List<GeneratedSchedule> findByUserEmailIn(List<String> emails);
+
+    List<GeneratedSchedule> findByUserEmailInOrMemberEmailsIn(List<String> emails, List<String> memberEmails);
 }
@@ -0,0 +1,11 @@
+package com.smartsched.repository;
+
+import com.smartsched.model.GenerationJob;
+import com.smartsched.repository.custom.CustomGenerationJobRepository;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface GenerationJobRepository
+        extends MongoRepository<GenerationJob, String>, CustomGenerationJobRepository {
+}
@@ -2,9 +2,19 @@ package com.smartsched.repository;
 
 import com.smartsched.model.InstructorAssignment;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface InstructorAssignmentRepository extends MongoRepository<InstructorAssignment, String> {
     Optional<InstructorAssignment> findByEmail(String email);
+
+    // Case-insensitive match served by the email_ci index (same collation, see MongoIndexInitializer)
+    @Query(value = "{ 'email': ?0 }", collation = "{ 'locale': 'en', 'strength': 2 }")
+    List<InstructorAssignment> findAllByEmailInsensitive(String email);
+
+    default Optional<InstructorAssignment> findFirstByEmailInsensitive(String email) {
+        return findAllByEmailInsensitive(email).stream().findFirst();
+    }
 }
\ No newline at end of file
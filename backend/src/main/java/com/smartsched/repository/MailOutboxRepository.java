@@ -0,0 +1,11 @@
+package com.smartsched.repository;
+
+import com.smartsched.model.OutboxMail;
+import com.smartsched.repository.custom.CustomMailOutboxRepository;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface MailOutboxRepository
+        extends MongoRepository<OutboxMail, String>, CustomMailOutboxRepository {
+}
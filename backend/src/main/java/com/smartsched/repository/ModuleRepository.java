@@ -4,8 +4,11 @@ import com.smartsched.model.Module;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ModuleRepository extends MongoRepository<Module, String> {
     List<Module> findByCourse_CourseId(String courseId);
+
+    Optional<Module> findFirstByModuleName(String moduleName);
 }
\ No newline at end of file
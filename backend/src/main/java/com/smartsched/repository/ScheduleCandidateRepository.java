@@ -0,0 +1,12 @@
+package com.smartsched.repository;
+
+import com.smartsched.model.ScheduleCandidate;
+import com.smartsched.repository.custom.CustomScheduleCandidateRepository;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+// Ranked candidates of each run; insert(List) writes a whole batch with one insertMany
+@Repository
+public interface ScheduleCandidateRepository
+        extends MongoRepository<ScheduleCandidate, String>, CustomScheduleCandidateRepository {
+}
@@ -1,17 +1,27 @@
 package com.smartsched.repository;
 
 import com.smartsched.model.StudentEnrollment;
+import com.smartsched.repository.custom.CustomStudentEnrollmentRepository;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface StudentEnrollmentRepository extends MongoRepository<StudentEnrollment, String> {
+public interface StudentEnrollmentRepository extends MongoRepository<StudentEnrollment, String>, CustomStudentEnrollmentRepository {
 
     Optional<StudentEnrollment> findByEmail(String email);
 
+    // Case-insensitive match served by the email_ci index (same collation, see MongoIndexInitializer)
+    @Query(value = "{ 'email': ?0 }", collation = "{ 'locale': 'en', 'strength': 2 }")
+    List<StudentEnrollment> findAllByEmailInsensitive(String email);
+
+    default Optional<StudentEnrollment> findFirstByEmailInsensitive(String email) {
+        return findAllByEmailInsensitive(email).stream().findFirst();
+    }
+
     List<StudentEnrollment> findByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCase(
             String firstName, String lastName);
 }
@@ -0,0 +1,9 @@
+package com.smartsched.repository;
+
+import com.smartsched.model.UserTimetable;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface UserTimetableRepository extends MongoRepository<UserTimetable, String> {
+}
@@ -0,0 +1,49 @@
+package com.smartsched.repository.custom;
+
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Size of a collection as reported by $collStats (summed over shards); freeBytes is space WiredTiger can reuse
+public record CollectionStorage(long count, long dataBytes, long storageBytes, long freeBytes, long indexBytes) {
+
+    public static CollectionStorage of(MongoTemplate mongoTemplate, String collection) {
+        long count = 0, data = 0, storage = 0, free = 0, index = 0;
+        List<Document> pipeline = List.of(new Document("$collStats", new Document("storageStats", new Document())));
+        for (Document doc : mongoTemplate.getCollection(collection).aggregate(pipeline)) {
+            Document stats = doc.get("storageStats", Document.class);
+            if (stats == null) {
+                continue;
+            }
+            count += number(stats, "count");
+            data += number(stats, "size");
+            storage += number(stats, "storageSize");
+            free += number(stats, "freeStorageSize"); // 4.4+
+            index += number(stats, "totalIndexSize");
+        }
+        return new CollectionStorage(count, data, storage, free, index);
+    }
+
+    // ✅ Frees the unused blocks of a collection back to the OS; needs the compact privilege
+    public static void compact(MongoTemplate mongoTemplate, String collection) {
+        mongoTemplate.getDb().runCommand(new Document("compact", collection));
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("count", count);
+        map.put("dataBytes", dataBytes);
+        map.put("storageBytes", storageBytes);
+        map.put("freeBytes", freeBytes);
+        map.put("indexBytes", indexBytes);
+        return map;
+    }
+
+    private static long number(Document stats, String key) {
+        Object value = stats.get(key);
+        return value instanceof Number n ? n.longValue() : 0;
+    }
+}
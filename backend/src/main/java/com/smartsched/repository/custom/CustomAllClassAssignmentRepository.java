@@ -1,7 +1,17 @@
 package com.smartsched.repository.custom;
 
+import com.smartsched.model.AllClassAssignment;
+
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface CustomAllClassAssignmentRepository {
     List<String> findDistinctGroupNames();
+
+    // Email → group name of the first assignment naming that email as instructor or student, in one query
+    Map<String, String> findGroupNamesByEmails(Collection<String> emails);
+
+    // One unordered bulk insert; returns the write error of each rejected document by its index in the batch
+    Map<Integer, String> insertUnordered(List<AllClassAssignment> batch);
 }
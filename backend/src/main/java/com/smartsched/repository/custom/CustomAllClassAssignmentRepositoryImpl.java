@@ -1,11 +1,21 @@
 package com.smartsched.repository.custom;
 
 import com.mongodb.client.DistinctIterable;
+import com.mongodb.client.model.Filters;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.model.Projections;
+import com.smartsched.model.AllClassAssignment;
+import org.bson.Document;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
@@ -24,4 +34,46 @@ public class CustomAllClassAssignmentRepositoryImpl implements CustomAllClassAss
         return StreamSupport.stream(iterable.spliterator(), false)
             .collect(Collectors.toList());
     }
+
+    @Override
+    public Map<String, String> findGroupNamesByEmails(Collection<String> emails) {
+        Map<String, String> groupNames = new HashMap<>();
+        if (emails.isEmpty()) {
+            return groupNames;
+        }
+
+        Iterable<Document> docs = mongoTemplate
+            .getCollection("allclassassignment")
+            .find(Filters.or(Filters.in("instructorEmail", emails), Filters.in("studentEmail", emails)))
+            .projection(Projections.include("instructorEmail", "studentEmail", "groupName"));
+
+        for (Document doc : docs) {
+            String groupName = doc.getString("groupName");
+            for (String key : List.of("instructorEmail", "studentEmail")) {
+                Object email = doc.get(key);
+                if (email instanceof String && groupName != null) {
+                    groupNames.putIfAbsent((String) email, groupName);
+                }
+            }
+        }
+        return groupNames;
+    }
+
+    @Override
+    public Map<Integer, String> insertUnordered(List<AllClassAssignment> batch) {
+        Map<Integer, String> errors = new HashMap<>();
+        if (batch.isEmpty()) {
+            return errors;
+        }
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, AllClassAssignment.class)
+                .insert(batch)
+                .execute();
+        } catch (BulkOperationException e) {
+            for (BulkWriteError error : e.getErrors()) {
+                errors.put(error.getIndex(), error.getMessage());
+            }
+        }
+        return errors;
+    }
 }
@@ -0,0 +1,13 @@
+package com.smartsched.repository.custom;
+
+import com.smartsched.model.CustomSchedule;
+
+public interface CustomCustomScheduleRepository {
+
+    // Insert or update the task at (email, day, time) in one findAndModify; returns the stored task
+    CustomSchedule upsertByEmailAndDayAndTime(CustomSchedule task);
+
+    // Moves and updates an existing task by id in one findAndModify; null when the user has no task with that id.
+    // Throws DuplicateKeyException when another task already holds the target slot.
+    CustomSchedule updateById(CustomSchedule task);
+}
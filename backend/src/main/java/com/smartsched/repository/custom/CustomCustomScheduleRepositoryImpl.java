@@ -0,0 +1,63 @@
+package com.smartsched.repository.custom;
+
+import com.smartsched.model.CustomSchedule;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+@Component
+public class CustomCustomScheduleRepositoryImpl implements CustomCustomScheduleRepository {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public CustomSchedule upsertByEmailAndDayAndTime(CustomSchedule task) {
+        Query slot = slot(task);
+        Update content = content(task);
+        FindAndModifyOptions options = FindAndModifyOptions.options().upsert(true).returnNew(true);
+
+        try {
+            return mongoTemplate.findAndModify(slot, content, options, CustomSchedule.class);
+        } catch (DuplicateKeyException e) {
+            // Two upserts raced to insert the same slot; the unique index let one win, so this one now updates it
+            return mongoTemplate.findAndModify(slot, content, options, CustomSchedule.class);
+        }
+    }
+
+    @Override
+    public CustomSchedule updateById(CustomSchedule task) {
+        return mongoTemplate.findAndModify(byId(task), move(task),
+                FindAndModifyOptions.options().returnNew(true), CustomSchedule.class);
+    }
+
+    static Query slot(CustomSchedule task) {
+        return new Query(Criteria.where("email").is(task.getEmail())
+                .and("day").is(task.getDay())
+                .and("time").is(task.getTime()));
+    }
+
+    static Query byId(CustomSchedule task) {
+        return new Query(Criteria.where("_id").is(task.getId()).and("email").is(task.getEmail()));
+    }
+
+    static Update content(CustomSchedule task) {
+        return new Update()
+                .set("title", task.getTitle())
+                .set("description", task.getDescription())
+                .set("icon", task.getIcon())
+                .set("color", task.getColor());
+    }
+
+    // A task keeps its id when it moves to another day/time slot
+    static Update move(CustomSchedule task) {
+        return content(task)
+                .set("day", task.getDay())
+                .set("time", task.getTime());
+    }
+}
@@ -0,0 +1,26 @@
+package com.smartsched.repository.custom;
+
+import com.smartsched.model.ConflictIssue;
+import com.smartsched.utils.ConflictChecker;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface CustomGeneratedScheduleRepository {
+
+    // Sessions of every user's latest schedule, grouped by (resource, day) where a resource holds 2+ sessions.
+    // Streamed from a server-side aggregation; the caller must close the stream.
+    Stream<ResourceLane> streamContendedLanes();
+
+    // Deletes all but the newest `keep` schedules of every user and shared group; returns the number removed.
+    // Only older schedules go, so the latest-schedule cache stays valid.
+    long deleteAllButLatest(int keep);
+
+    CollectionStorage storageStats();
+
+    // Releases the space of deleted schedules; throws when the server refuses compact
+    void compact();
+
+    record ResourceLane(ConflictIssue.Type type, String resourceId, String day, List<ConflictChecker.Interval> intervals) {
+    }
+}
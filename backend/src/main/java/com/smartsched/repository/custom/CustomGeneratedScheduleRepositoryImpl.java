@@ -0,0 +1,160 @@
+package com.smartsched.repository.custom;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.smartsched.config.ScheduleSessionConverters;
+import com.smartsched.model.ConflictIssue;
+import com.smartsched.model.ScheduleSession;
+import com.smartsched.utils.ConflictChecker;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+@Component
+public class CustomGeneratedScheduleRepositoryImpl implements CustomGeneratedScheduleRepository {
+
+    private static final ScheduleSessionConverters.Reader SESSION_READER = new ScheduleSessionConverters.Reader();
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${smartsched.conflicts.batch-size:500}")
+    private int batchSize;
+
+    @Value("${smartsched.retention.delete-batch-size:1000}")
+    private int deleteBatchSize;
+
+    @Override
+    public Stream<ResourceLane> streamContendedLanes() {
+        MongoCursor<Document> cursor = mongoTemplate
+            .getCollection("generated_schedules")
+            .aggregate(pipeline())
+            .allowDiskUse(true)
+            .batchSize(batchSize)
+            .cursor();
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(cursor, Spliterator.ORDERED), false)
+            .onClose(cursor::close)
+            .map(CustomGeneratedScheduleRepositoryImpl::toLane);
+    }
+
+    @Override
+    public long deleteAllButLatest(int keep) {
+        if (keep < 1) {
+            throw new IllegalArgumentException("keep must be at least 1");
+        }
+        MongoCollection<Document> collection = mongoTemplate.getCollection("generated_schedules");
+        long deleted = 0;
+        List<Object> ids = new ArrayList<>(deleteBatchSize);
+        // Raw deleteMany: no Mongo delete events, the cache only ever holds schedules that are kept
+        try (MongoCursor<Document> cursor = collection.aggregate(stalePipeline(keep))
+                .allowDiskUse(true)
+                .batchSize(deleteBatchSize)
+                .cursor()) {
+            while (cursor.hasNext()) {
+                ids.add(cursor.next().get("_id"));
+                if (ids.size() == deleteBatchSize || !cursor.hasNext()) {
+                    deleted += collection.deleteMany(new Document("_id", new Document("$in", ids))).getDeletedCount();
+                    ids.clear();
+                }
+            }
+        }
+        return deleted;
+    }
+
+    @Override
+    public CollectionStorage storageStats() {
+        return CollectionStorage.of(mongoTemplate, "generated_schedules");
+    }
+
+    @Override
+    public void compact() {
+        CollectionStorage.compact(mongoTemplate, "generated_schedules");
+    }
+
+    // ✅ Ids of every schedule behind the newest `keep` of its owner (user or shared group).
+    // Only schedules with a timetable count, like the latest-schedule lookup; others are left alone.
+    static List<Document> stalePipeline(int keep) {
+        return List.of(
+            new Document("$match", new Document("timetable", new Document("$type", "array"))),
+            new Document("$sort", new Document("userEmail", 1).append("groupKey", 1).append("generatedAt", -1)),
+            new Document("$group", new Document("_id", new Document("$ifNull", Arrays.asList("$userEmail", "$groupKey")))
+                .append("ids", new Document("$push", "$_id"))
+                .append("count", new Document("$sum", 1))),
+            new Document("$match", new Document("_id", new Document("$ne", null))
+                .append("count", new Document("$gt", keep))),
+            new Document("$project", new Document("_id", 0)
+                .append("stale", new Document("$slice", Arrays.asList("$ids", keep,
+                    new Document("$subtract", Arrays.asList("$count", keep)))))),
+            new Document("$unwind", "$stale"),
+            new Document("$project", new Document("_id", "$stale"))
+        );
+    }
+
+    // ✅ Latest schedule per user or shared group → distinct sessions → one bucket per (resource, day) holding 2+ sessions.
+    // Overlap inside a bucket is left to the sweep line, so partial overlaps are caught too.
+    static List<Document> pipeline() {
+        return List.of(
+            new Document("$match", new Document("timetable", new Document("$type", "array"))),
+            new Document("$sort", new Document("userEmail", 1).append("groupKey", 1).append("generatedAt", -1)),
+            new Document("$group", new Document("_id", new Document("$ifNull", Arrays.asList("$userEmail", "$groupKey")))
+                .append("timetable", new Document("$first", "$timetable"))),
+            new Document("$unwind", "$timetable"),
+            new Document("$group", new Document("_id", new Document()
+                    .append("m", "$timetable." + ScheduleSession.MODULE_NAME)
+                    .append("i", "$timetable." + ScheduleSession.INSTRUCTOR_ID)
+                    .append("g", "$timetable." + ScheduleSession.GROUP_ID)
+                    .append("d", "$timetable." + ScheduleSession.DAY)
+                    .append("s", "$timetable." + ScheduleSession.START_TIME)
+                    .append("e", "$timetable." + ScheduleSession.END_TIME)
+                    .append("l", "$timetable." + ScheduleSession.LOCATION))
+                .append("session", new Document("$first", "$timetable"))
+                .append("owner", new Document("$first", "$_id"))),
+            new Document("$project", new Document("_id", 0)
+                .append("session", 1)
+                .append("owner", 1)
+                .append("lanes", List.of(
+                    lane(ConflictIssue.Type.INSTRUCTOR, ScheduleSession.INSTRUCTOR_ID),
+                    lane(ConflictIssue.Type.GROUP, ScheduleSession.GROUP_ID),
+                    lane(ConflictIssue.Type.ROOM, ScheduleSession.LOCATION)))),
+            new Document("$unwind", "$lanes"),
+            new Document("$match", new Document("lanes.id", new Document("$nin", Arrays.asList(null, "-")))),
+            new Document("$group", new Document("_id", new Document()
+                    .append("type", "$lanes.type")
+                    .append("id", "$lanes.id")
+                    .append("day", "$session." + ScheduleSession.DAY))
+                .append("sessions", new Document("$push", new Document("owner", "$owner").append("session", "$session")))
+                .append("count", new Document("$sum", 1))),
+            new Document("$match", new Document("count", new Document("$gt", 1)))
+        );
+    }
+
+    private static Document lane(ConflictIssue.Type type, String key) {
+        return new Document("type", type.name()).append("id", "$session." + key);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ResourceLane toLane(Document doc) {
+        Document id = (Document) doc.get("_id");
+        List<ConflictChecker.Interval> intervals = new ArrayList<>();
+        for (Document entry : (List<Document>) doc.get("sessions")) {
+            ScheduleSession session = SESSION_READER.convert((Document) entry.get("session"));
+            ConflictChecker.Interval interval = ConflictChecker.Interval.of(entry.getString("owner"), session);
+            if (interval != null) {
+                intervals.add(interval); // unparsable times are reported per user by /api/schedule/conflicts
+            }
+        }
+        return new ResourceLane(ConflictIssue.Type.valueOf(id.getString("type")),
+            String.valueOf(id.get("id")), String.valueOf(id.get("day")), intervals);
+    }
+}
@@ -0,0 +1,18 @@
+package com.smartsched.repository.custom;
+
+import com.smartsched.model.GenerationJob;
+
+import java.time.LocalDateTime;
+
+public interface CustomGenerationJobRepository {
+
+    void markRunning(String jobId);
+
+    // Atomic per-user progress update, safe when users finish on parallel workers
+    void recordUserResult(String jobId, String email, String scheduleId);
+
+    void markFinished(String jobId, GenerationJob.Status status, String message, String error);
+
+    // Jobs created before this start and still queued/running can never finish
+    long failInterruptedJobs(LocalDateTime startedBefore);
+}
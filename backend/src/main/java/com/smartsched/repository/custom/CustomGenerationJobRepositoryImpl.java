@@ -0,0 +1,62 @@
+package com.smartsched.repository.custom;
+
+import com.smartsched.model.GenerationJob;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Component
+public class CustomGenerationJobRepositoryImpl implements CustomGenerationJobRepository {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public void markRunning(String jobId) {
+        mongoTemplate.updateFirst(byId(jobId),
+                new Update().set("status", GenerationJob.Status.RUNNING).set("startedAt", LocalDateTime.now()),
+                GenerationJob.class);
+    }
+
+    @Override
+    public void recordUserResult(String jobId, String email, String scheduleId) {
+        Update update = new Update().inc("completedUsers", 1);
+        if (scheduleId != null) {
+            update.push("resultScheduleIds", scheduleId);
+        } else {
+            update.push("skippedEmails", email);
+        }
+        mongoTemplate.updateFirst(byId(jobId), update, GenerationJob.class);
+    }
+
+    @Override
+    public void markFinished(String jobId, GenerationJob.Status status, String message, String error) {
+        Update update = new Update()
+                .set("status", status)
+                .set("message", message)
+                .set("error", error)
+                .set("finishedAt", LocalDateTime.now());
+        mongoTemplate.updateFirst(byId(jobId), update, GenerationJob.class);
+    }
+
+    @Override
+    public long failInterruptedJobs(LocalDateTime startedBefore) {
+        Query query = new Query(Criteria.where("status").in(List.of(GenerationJob.Status.QUEUED, GenerationJob.Status.RUNNING))
+                .and("createdAt").lt(startedBefore));
+        Update update = new Update()
+                .set("status", GenerationJob.Status.FAILED)
+                .set("error", "Interrupted by a server restart")
+                .set("finishedAt", LocalDateTime.now());
+        return mongoTemplate.updateMulti(query, update, GenerationJob.class).getModifiedCount();
+    }
+
+    private static Query byId(String jobId) {
+        return new Query(Criteria.where("_id").is(jobId));
+    }
+}
@@ -0,0 +1,18 @@
+package com.smartsched.repository.custom;
+
+import com.smartsched.model.OutboxMail;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface CustomMailOutboxRepository {
+
+    // Atomically moves up to limit due mails to SENDING; SENDING mails claimed before staleBefore are taken over
+    List<OutboxMail> claimBatch(int limit, LocalDateTime staleBefore);
+
+    void markSent(String mailId);
+
+    void markRetry(String mailId, int attempts, LocalDateTime nextAttemptAt, String error);
+
+    void markFailed(String mailId, int attempts, String error);
+}
@@ -0,0 +1,74 @@
+package com.smartsched.repository.custom;
+
+import com.smartsched.model.OutboxMail;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+public class CustomMailOutboxRepositoryImpl implements CustomMailOutboxRepository {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public List<OutboxMail> claimBatch(int limit, LocalDateTime staleBefore) {
+        LocalDateTime now = LocalDateTime.now();
+        Query due = new Query(new Criteria().orOperator(
+                Criteria.where("status").is(OutboxMail.Status.PENDING).and("nextAttemptAt").lte(now),
+                Criteria.where("status").is(OutboxMail.Status.SENDING).and("claimedAt").lt(staleBefore)))
+                .with(Sort.by(Sort.Direction.ASC, "nextAttemptAt"));
+        Update claim = new Update().set("status", OutboxMail.Status.SENDING).set("claimedAt", now);
+
+        // One findAndModify per mail so two dispatchers never send the same message
+        List<OutboxMail> batch = new ArrayList<>();
+        while (batch.size() < limit) {
+            OutboxMail mail = mongoTemplate.findAndModify(due, claim,
+                    FindAndModifyOptions.options().returnNew(true), OutboxMail.class);
+            if (mail == null) {
+                break;
+            }
+            batch.add(mail);
+        }
+        return batch;
+    }
+
+    @Override
+    public void markSent(String mailId) {
+        mongoTemplate.updateFirst(byId(mailId), new Update()
+                .set("status", OutboxMail.Status.SENT)
+                .set("sentAt", LocalDateTime.now())
+                .inc("attempts", 1)
+                .unset("lastError"), OutboxMail.class);
+    }
+
+    @Override
+    public void markRetry(String mailId, int attempts, LocalDateTime nextAttemptAt, String error) {
+        mongoTemplate.updateFirst(byId(mailId), new Update()
+                .set("status", OutboxMail.Status.PENDING)
+                .set("attempts", attempts)
+                .set("nextAttemptAt", nextAttemptAt)
+                .set("lastError", error), OutboxMail.class);
+    }
+
+    @Override
+    public void markFailed(String mailId, int attempts, String error) {
+        mongoTemplate.updateFirst(byId(mailId), new Update()
+                .set("status", OutboxMail.Status.FAILED)
+                .set("attempts", attempts)
+                .set("lastError", error), OutboxMail.class);
+    }
+
+    private static Query byId(String mailId) {
+        return new Query(Criteria.where("_id").is(mailId));
+    }
+}
@@ -0,0 +1,9 @@
+package com.smartsched.repository.custom;
+
+public interface CustomScheduleCandidateRepository {
+
+    CollectionStorage storageStats();
+
+    // Releases space left by TTL-expired candidates; throws when the server refuses compact
+    void compact();
+}
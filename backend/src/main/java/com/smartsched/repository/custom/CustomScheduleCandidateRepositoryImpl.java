@@ -0,0 +1,24 @@
+package com.smartsched.repository.custom;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+@Component
+public class CustomScheduleCandidateRepositoryImpl implements CustomScheduleCandidateRepository {
+
+    static final String COLLECTION = "generated_schedules_all";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public CollectionStorage storageStats() {
+        return CollectionStorage.of(mongoTemplate, COLLECTION);
+    }
+
+    @Override
+    public void compact() {
+        CollectionStorage.compact(mongoTemplate, COLLECTION);
+    }
+}
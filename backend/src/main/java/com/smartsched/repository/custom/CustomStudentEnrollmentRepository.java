@@ -0,0 +1,20 @@
+package com.smartsched.repository.custom;
+
+import com.mongodb.bulk.BulkWriteResult;
+import com.smartsched.dto.EnrollmentChange;
+import com.smartsched.model.StudentEnrollment;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface CustomStudentEnrollmentRepository {
+
+    // Applies one change in a single findAndModify; null when the enrollment is missing or the change does not apply
+    StudentEnrollment applyChange(EnrollmentChange change);
+
+    // All changes in one unordered bulkWrite
+    BulkWriteResult applyChanges(List<EnrollmentChange> changes);
+
+    // Enrollments with at least one of the class group ids among their courseClasses values
+    List<StudentEnrollment> findByClassGroupIds(Collection<String> groupIds);
+}
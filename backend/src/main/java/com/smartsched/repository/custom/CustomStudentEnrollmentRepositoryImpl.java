@@ -0,0 +1,98 @@
+package com.smartsched.repository.custom;
+
+import com.mongodb.bulk.BulkWriteResult;
+import com.smartsched.dto.EnrollmentChange;
+import com.smartsched.model.StudentEnrollment;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.BasicQuery;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+
+@Component
+public class CustomStudentEnrollmentRepositoryImpl implements CustomStudentEnrollmentRepository {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public StudentEnrollment applyChange(EnrollmentChange change) {
+        return mongoTemplate.findAndModify(query(change), update(change),
+                FindAndModifyOptions.options().returnNew(true), StudentEnrollment.class);
+    }
+
+    @Override
+    public BulkWriteResult applyChanges(List<EnrollmentChange> changes) {
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, StudentEnrollment.class);
+        for (EnrollmentChange change : changes) {
+            bulk.updateOne(query(change), update(change));
+        }
+        return bulk.execute();
+    }
+
+    @Override
+    public List<StudentEnrollment> findByClassGroupIds(Collection<String> groupIds) {
+        // courseClasses is a map keyed by course name, so its values are matched through $objectToArray
+        Document classGroupIds = new Document("$map", new Document()
+                .append("input", new Document("$objectToArray", new Document("$ifNull", List.of("$courseClasses", new Document()))))
+                .append("in", "$$this.v"));
+        Document shared = new Document("$size", new Document("$setIntersection", List.of(classGroupIds, List.copyOf(groupIds))));
+        return mongoTemplate.find(new BasicQuery(new Document("$expr", new Document("$gt", List.of(shared, 0)))),
+                StudentEnrollment.class);
+    }
+
+    // ✅ The filter carries the precondition the old read-modify-write checked in Java
+    static Query query(EnrollmentChange change) {
+        String course = courseKey(change.getCourseName());
+        Criteria criteria = Criteria.where("_id").is(change.getEnrollmentId());
+        switch (change.getOperation()) {
+            case ADD_COURSE -> criteria.and("courses").ne(course);
+            case ADD_MODULE, REMOVE_MODULE -> criteria.and("courseModules." + course).exists(true);
+            case ASSIGN_CLASS -> criteria.and("courseClasses." + course).exists(true);
+            case REMOVE_COURSE -> {
+            }
+        }
+        return new Query(criteria);
+    }
+
+    static Update update(EnrollmentChange change) {
+        String course = courseKey(change.getCourseName());
+        return switch (change.getOperation()) {
+            case ADD_COURSE -> new Update()
+                    .addToSet("courses", course)
+                    .set("courseModules." + course, List.of())
+                    .set("courseClasses." + course, null);
+            case REMOVE_COURSE -> new Update()
+                    .pull("courses", course)
+                    .unset("courseModules." + course)
+                    .unset("courseClasses." + course);
+            case ADD_MODULE -> new Update().addToSet("courseModules." + course, required(change.getModuleName(), "moduleName"));
+            case REMOVE_MODULE -> new Update().pull("courseModules." + course, required(change.getModuleName(), "moduleName"));
+            case ASSIGN_CLASS -> new Update().set("courseClasses." + course, change.getClassName());
+        };
+    }
+
+    // Course names become field names inside courseModules/courseClasses
+    private static String courseKey(String courseName) {
+        required(courseName, "courseName");
+        if (courseName.contains(".") || courseName.startsWith("$")) {
+            throw new IllegalArgumentException("Course name cannot contain '.' or start with '$': " + courseName);
+        }
+        return courseName;
+    }
+
+    private static String required(String value, String name) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException(name + " is required");
+        }
+        return value;
+    }
+}
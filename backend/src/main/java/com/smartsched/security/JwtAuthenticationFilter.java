@@ -12,9 +12,14 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    // SSE stream of one generation job: /api/schedule/jobs/{id}/events
+    private static final Pattern JOB_EVENTS = Pattern.compile("^/api/schedule/jobs/([^/]+)/events$");
+
     private final JwtTokenUtil jwtTokenUtil;
 
     public JwtAuthenticationFilter(JwtTokenUtil jwtTokenUtil) {
@@ -26,32 +31,44 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                                     HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
         String authHeader = request.getHeader("Authorization");
-        
 
-        // ✅ Check for Authorization header
+        // ✅ Check for Authorization header; stream tokens are not accepted there
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             String token = authHeader.substring(7);
 
-            // ✅ Validate and parse the token
-            if (jwtTokenUtil.validateToken(token)) {
-                String email = jwtTokenUtil.getEmailFromToken(token);
-                String role = jwtTokenUtil.getRoleFromToken(token);
+            // ✅ Validate and parse the token in one pass
+            JwtTokenUtil.VerifiedToken verified = jwtTokenUtil.verify(token).orElse(null);
+            if (verified != null && verified.role() != null && verified.jobId() == null) {
+                authenticate(verified);
+            }
+        } else if (request.getParameter("token") != null) {
+            // ✅ EventSource sends a stream token as ?token=, only valid for the job it was issued for
+            Matcher events = JOB_EVENTS.matcher(request.getRequestURI());
+            JwtTokenUtil.VerifiedToken verified = events.matches()
+                    ? jwtTokenUtil.verify(request.getParameter("token")).orElse(null)
+                    : null;
+            if (verified != null && verified.role() != null && events.group(1).equals(verified.jobId())) {
+                authenticate(verified);
+            }
+        }
 
-                // ✅ Create auth token and populate security context
-                UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                        email,
-                        null,
-                        Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role.toUpperCase()))
-                );
+        filterChain.doFilter(request, response);
+    }
 
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+    private void authenticate(JwtTokenUtil.VerifiedToken verified) {
+        String email = verified.email();
+        String role = verified.role();
 
-                System.out.println("✅ Authenticated " + email + " as ROLE_" + role.toUpperCase());
+        // ✅ Create auth token and populate security context
+        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                email,
+                null,
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role.toUpperCase()))
+        );
 
-            }
-        }
+        SecurityContextHolder.getContext().setAuthentication(authentication);
 
-        filterChain.doFilter(request, response);
+        System.out.println("✅ Authenticated " + email + " as ROLE_" + role.toUpperCase());
     }
 
     // ✅ Skip JWT check for login/register/forgot-password
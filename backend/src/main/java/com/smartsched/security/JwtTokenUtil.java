@@ -1,25 +1,54 @@
 package com.smartsched.security;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Base64;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
 
 @Component
 public class JwtTokenUtil {
 
     private final Key key;
     private final long jwtExpiration = 86400000; // 1 day
+    private final long streamTokenExpiration = 300000; // 5 minutes
 
-    public JwtTokenUtil(@Value("${jwt.secret}") String secret) {
+    // Immutable once built, so one parser serves every request thread
+    private final JwtParser parser;
+
+    // Recently verified tokens by SHA-256 of the token; 0 disables the cache
+    private final int cacheSize;
+    private final Map<String, VerifiedToken> verified;
+
+    // ✅ Subject and role of a token whose signature and expiry were checked;
+    // jobId is only set on stream tokens, which are valid for that job's event stream and nothing else
+    public record VerifiedToken(String email, String role, long expiresAtMillis, String jobId) {
+    }
+
+    public JwtTokenUtil(@Value("${jwt.secret}") String secret,
+                        @Value("${smartsched.jwt.verified-cache-size:1024}") int cacheSize) {
         // Decode base64 string from properties
         byte[] decodedKey = Base64.getDecoder().decode(secret);
         this.key = Keys.hmacShaKeyFor(decodedKey);
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
+        this.cacheSize = cacheSize;
+        this.verified = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, VerifiedToken> eldest) {
+                return size() > JwtTokenUtil.this.cacheSize;
+            }
+        };
     }
 
     public String generateToken(String email, String role) {
@@ -32,26 +61,82 @@ public class JwtTokenUtil {
                 .compact();
     }
 
+    // ✅ Short-lived token for EventSource, which cannot send the Authorization header
+    public String generateStreamToken(String email, String role, String jobId) {
+        return Jwts.builder()
+                .setSubject(email)
+                .claim("role", role)
+                .claim("job", jobId)
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + streamTokenExpiration))
+                .signWith(key)
+                .compact();
+    }
+
+    public long getStreamTokenExpirationMillis() {
+        return streamTokenExpiration;
+    }
+
+    // ✅ One signature check per token: cached while unexpired, empty when invalid
+    public Optional<VerifiedToken> verify(String token) {
+        String hash = cacheSize > 0 ? sha256(token) : null;
+        if (hash != null) {
+            VerifiedToken cached;
+            synchronized (verified) {
+                cached = verified.get(hash);
+            }
+            if (cached != null) {
+                if (cached.expiresAtMillis() > System.currentTimeMillis()) {
+                    return Optional.of(cached);
+                }
+                synchronized (verified) {
+                    verified.remove(hash);
+                }
+                return Optional.empty();
+            }
+        }
+
+        Claims claims;
+        try {
+            claims = parser.parseClaimsJws(token).getBody();
+        } catch (Exception e) {
+            return Optional.empty();
+        }
+
+        String role = claims.get("role", String.class);
+        Date expiration = claims.getExpiration();
+        VerifiedToken result = new VerifiedToken(claims.getSubject(),
+                role != null ? role.toUpperCase() : null,
+                expiration != null ? expiration.getTime() : Long.MAX_VALUE,
+                claims.get("job", String.class));
+        if (hash != null) {
+            synchronized (verified) {
+                verified.put(hash, result);
+            }
+        }
+        return Optional.of(result);
+    }
+
     public String getEmailFromToken(String token) {
-        return Jwts.parserBuilder().setSigningKey(key).build()
-                .parseClaimsJws(token)
-                .getBody().getSubject();
+        return parser.parseClaimsJws(token).getBody().getSubject();
     }
 
     public String getRoleFromToken(String token) {
-        String role = Jwts.parserBuilder().setSigningKey(key).build()
-            .parseClaimsJws(token)
-            .getBody().get("role", String.class);
+        String role = parser.parseClaimsJws(token).getBody().get("role", String.class);
         return role.toUpperCase(); 
     }
     
 
     public boolean validateToken(String token) {
+        return verify(token).isPresent();
+    }
+
+    private static String sha256(String token) {
         try {
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
-            return true;
-        } catch (Exception e) {
-            return false;
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
         }
     }
 }
@@ -0,0 +1,95 @@
+package com.smartsched.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// ✅ Token buckets for /api/users/login, one per account and one per client IP
+@Component
+public class LoginRateLimiter {
+
+    private final Limit accountLimit;
+    private final Limit ipLimit;
+    private final int maxBuckets;
+    private final long sweepIntervalMs;
+    private final ConcurrentHashMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong nextSweepAt = new AtomicLong();
+
+    public LoginRateLimiter(@Value("${smartsched.auth.login.account-capacity:5}") int accountCapacity,
+                            @Value("${smartsched.auth.login.account-refill-per-minute:5}") double accountRefill,
+                            @Value("${smartsched.auth.login.ip-capacity:20}") int ipCapacity,
+                            @Value("${smartsched.auth.login.ip-refill-per-minute:20}") double ipRefill,
+                            @Value("${smartsched.auth.login.max-buckets:10000}") int maxBuckets,
+                            @Value("${smartsched.auth.login.sweep-interval-ms:10000}") long sweepIntervalMs) {
+        this.accountLimit = new Limit(accountCapacity, accountRefill / 60_000.0);
+        this.ipLimit = new Limit(ipCapacity, ipRefill / 60_000.0);
+        this.maxBuckets = maxBuckets;
+        this.sweepIntervalMs = sweepIntervalMs;
+    }
+
+    private record Limit(int capacity, double tokensPerMs) {
+    }
+
+    // Seconds until the next attempt is allowed; 0 when this attempt may proceed
+    public long tryAcquire(String email, String ip) {
+        long now = System.currentTimeMillis();
+        if (buckets.size() > maxBuckets) {
+            sweep(now);
+        }
+
+        Bucket ipBucket = buckets.computeIfAbsent("ip:" + ip, k -> new Bucket(ipLimit, now));
+        Bucket accountBucket = email != null
+                ? buckets.computeIfAbsent("account:" + email.trim().toLowerCase(Locale.ROOT), k -> new Bucket(accountLimit, now))
+                : null;
+
+        long wait = ipBucket.take(now);
+        if (wait > 0) {
+            return wait;
+        }
+        return accountBucket != null ? accountBucket.take(now) : 0;
+    }
+
+    // Drops refilled buckets at most once per interval and on one thread: under a spray of fresh IPs most
+    // buckets are not full yet, so sweeping on every attempt would cost O(n) each time and free nothing
+    private void sweep(long now) {
+        long due = nextSweepAt.get();
+        if (now < due || !nextSweepAt.compareAndSet(due, now + sweepIntervalMs)) {
+            return;
+        }
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+
+    private static final class Bucket {
+        private final Limit limit;
+        private double tokens;
+        private long updatedAt;
+
+        Bucket(Limit limit, long now) {
+            this.limit = limit;
+            this.tokens = limit.capacity();
+            this.updatedAt = now;
+        }
+
+        synchronized long take(long now) {
+            refill(now);
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return Math.max(1, (long) Math.ceil((1 - tokens) / limit.tokensPerMs() / 1000));
+        }
+
+        synchronized boolean isFull(long now) {
+            refill(now);
+            return tokens >= limit.capacity();
+        }
+
+        private void refill(long now) {
+            tokens = Math.min(limit.capacity(), tokens + (now - updatedAt) * limit.tokensPerMs());
+            updatedAt = now;
+        }
+    }
+}
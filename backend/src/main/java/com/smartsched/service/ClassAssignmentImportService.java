@@ -0,0 +1,366 @@
+package com.smartsched.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smartsched.model.AllClassAssignment;
+import com.smartsched.model.AllCourse;
+import com.smartsched.model.AllGroups;
+import com.smartsched.model.AllModule;
+import com.smartsched.model.InstructorAssignment;
+import com.smartsched.repository.AllClassAssignmentRepository;
+import com.smartsched.repository.AllCourseRepository;
+import com.smartsched.repository.InstructorAssignmentRepository;
+import com.smartsched.service.scheduler.SchedulingProblem;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+// Streams a CSV or NDJSON upload into allclassassignment: rows are validated against in-memory lookups
+// and written in unordered bulk batches, so memory depends on the batch size, not the file size
+@Service
+public class ClassAssignmentImportService {
+
+    public enum Format { CSV, NDJSON }
+
+    public static final List<String> COLUMNS = List.of(
+            "courseId", "groupId", "moduleId", "instructorId", "location", "date", "startTime", "endTime");
+
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("H:mm");
+
+    private final AllClassAssignmentRepository assignmentRepository;
+    private final AllCourseRepository courseRepository;
+    private final InstructorAssignmentRepository instructorRepository;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final int maxReportedErrors;
+
+    public ClassAssignmentImportService(AllClassAssignmentRepository assignmentRepository,
+                                        AllCourseRepository courseRepository,
+                                        InstructorAssignmentRepository instructorRepository,
+                                        ObjectMapper objectMapper,
+                                        @Value("${smartsched.import.batch-size:500}") int batchSize,
+                                        @Value("${smartsched.import.max-reported-errors:200}") int maxReportedErrors) {
+        this.assignmentRepository = assignmentRepository;
+        this.courseRepository = courseRepository;
+        this.instructorRepository = instructorRepository;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    // ✅ Picks the format from the file name, e.g. "semester.csv" or "semester.ndjson"
+    public static Format formatOf(String fileName) {
+        String name = fileName == null ? "" : fileName.toLowerCase();
+        if (name.endsWith(".csv")) {
+            return Format.CSV;
+        }
+        if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) {
+            return Format.NDJSON;
+        }
+        throw new IllegalArgumentException("Unsupported import file (use .csv, .ndjson or .jsonl): " + fileName);
+    }
+
+    public Map<String, Object> importAssignments(InputStream input, Format format) throws IOException {
+        Lookups lookups = loadLookups();
+        Report report = new Report(maxReportedErrors);
+        List<AllClassAssignment> batch = new ArrayList<>(batchSize);
+        List<Integer> batchRows = new ArrayList<>(batchSize);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            Iterator<Row> rows = format == Format.CSV ? csvRows(reader) : ndjsonRows(reader);
+            while (rows.hasNext()) {
+                Row row = rows.next();
+                report.rows++;
+                try {
+                    AllClassAssignment assignment = lookups.toAssignment(row.values());
+                    batch.add(assignment);
+                    batchRows.add(row.number());
+                } catch (IllegalArgumentException e) {
+                    report.fail(row.number(), e.getMessage());
+                }
+                if (batch.size() >= batchSize) {
+                    flush(batch, batchRows, report);
+                }
+            }
+        }
+        flush(batch, batchRows, report);
+
+        System.out.println("✅ Class assignment import: " + report.imported + " imported, " + report.failed + " rejected");
+        return report.toMap();
+    }
+
+    private void flush(List<AllClassAssignment> batch, List<Integer> batchRows, Report report) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        Map<Integer, String> errors = assignmentRepository.insertUnordered(batch);
+        report.imported += batch.size() - errors.size();
+        errors.forEach((index, message) -> report.fail(batchRows.get(index), message));
+        batch.clear();
+        batchRows.clear();
+    }
+
+    private Lookups loadLookups() {
+        Lookups lookups = new Lookups();
+        for (AllCourse course : courseRepository.findAll()) {
+            lookups.courses.put(course.getId(), course);
+            Map<String, AllGroups> groups = new HashMap<>();
+            if (course.getGroups() != null) {
+                course.getGroups().forEach(g -> groups.put(g.getGroupId(), g));
+            }
+            Map<String, AllModule> modules = new HashMap<>();
+            if (course.getModules() != null) {
+                course.getModules().forEach(m -> modules.put(m.getModuleId(), m));
+            }
+            lookups.groups.put(course.getId(), groups);
+            lookups.modules.put(course.getId(), modules);
+        }
+        for (InstructorAssignment instructor : instructorRepository.findAll()) {
+            lookups.instructors.put(instructor.getId(), instructor);
+        }
+        return lookups;
+    }
+
+    private record Row(int number, Map<String, String> values) {
+    }
+
+    // CSV with a header row naming the COLUMNS (any order); quoted fields may contain commas and "" escapes
+    static Iterator<Row> csvRows(BufferedReader reader) throws IOException {
+        String headerLine = reader.readLine();
+        if (headerLine == null) {
+            return List.<Row>of().iterator();
+        }
+        List<String> header = splitCsv(stripBom(headerLine));
+        return new LineIterator(reader) {
+            @Override
+            Row parse(String line, int number) {
+                List<String> cells = splitCsv(line);
+                Map<String, String> values = new HashMap<>();
+                for (int i = 0; i < header.size() && i < cells.size(); i++) {
+                    values.put(header.get(i).trim(), cells.get(i).trim());
+                }
+                return new Row(number, values);
+            }
+        }.startingAt(2);
+    }
+
+    private Iterator<Row> ndjsonRows(BufferedReader reader) {
+        return new LineIterator(reader) {
+            @Override
+            Row parse(String line, int number) {
+                Map<String, String> values = new HashMap<>();
+                try {
+                    JsonNode node = objectMapper.readTree(stripBom(line));
+                    node.fields().forEachRemaining(field -> {
+                        if (!field.getValue().isNull()) {
+                            values.put(field.getKey(), field.getValue().asText());
+                        }
+                    });
+                } catch (JsonProcessingException e) {
+                    values.put(INVALID, "Invalid JSON: " + e.getOriginalMessage());
+                }
+                return new Row(number, values);
+            }
+        };
+    }
+
+    private static final String INVALID = "__invalid";
+
+    static List<String> splitCsv(String line) {
+        List<String> cells = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    cell.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    cell.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                cells.add(cell.toString());
+                cell.setLength(0);
+            } else {
+                cell.append(c);
+            }
+        }
+        cells.add(cell.toString());
+        return cells;
+    }
+
+    private static String stripBom(String line) {
+        return line.startsWith("\uFEFF") ? line.substring(1) : line;
+    }
+
+    // Reads one non-blank line at a time; row numbers are 1-based file line numbers
+    private abstract static class LineIterator implements Iterator<Row> {
+        private final BufferedReader reader;
+        private int lineNumber;
+        private Row next;
+
+        LineIterator(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        LineIterator startingAt(int firstLine) {
+            this.lineNumber = firstLine - 1;
+            return this;
+        }
+
+        abstract Row parse(String line, int number);
+
+        @Override
+        public boolean hasNext() {
+            if (next != null) {
+                return true;
+            }
+            try {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    lineNumber++;
+                    if (!line.isBlank()) {
+                        next = parse(line, lineNumber);
+                        return true;
+                    }
+                }
+                return false;
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not read import file: " + e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public Row next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Row row = next;
+            next = null;
+            return row;
+        }
+    }
+
+    // Reference data by id, loaded once per import
+    static final class Lookups {
+        final Map<String, AllCourse> courses = new HashMap<>();
+        final Map<String, Map<String, AllGroups>> groups = new HashMap<>();
+        final Map<String, Map<String, AllModule>> modules = new HashMap<>();
+        final Map<String, InstructorAssignment> instructors = new HashMap<>();
+
+        // ✅ Validates a row and fills the names from the referenced documents
+        AllClassAssignment toAssignment(Map<String, String> row) {
+            if (row.containsKey(INVALID)) {
+                throw new IllegalArgumentException(row.get(INVALID));
+            }
+            for (String column : COLUMNS) {
+                if (row.get(column) == null || row.get(column).isBlank()) {
+                    throw new IllegalArgumentException("Missing " + column);
+                }
+            }
+
+            String courseId = row.get("courseId");
+            AllCourse course = courses.get(courseId);
+            if (course == null) {
+                throw new IllegalArgumentException("Unknown course " + courseId);
+            }
+            AllGroups group = groups.get(courseId).get(row.get("groupId"));
+            if (group == null) {
+                throw new IllegalArgumentException("Group " + row.get("groupId") + " is not part of course " + course.getName());
+            }
+            AllModule module = modules.get(courseId).get(row.get("moduleId"));
+            if (module == null) {
+                throw new IllegalArgumentException("Module " + row.get("moduleId") + " is not part of course " + course.getName());
+            }
+            InstructorAssignment instructor = instructors.get(row.get("instructorId"));
+            if (instructor == null) {
+                throw new IllegalArgumentException("Unknown instructor " + row.get("instructorId"));
+            }
+            if (!SchedulingProblem.DAYS.contains(row.get("date"))) {
+                throw new IllegalArgumentException("Invalid day " + row.get("date") + " (expected one of " + SchedulingProblem.DAYS + ")");
+            }
+            LocalTime start = time(row.get("startTime"));
+            LocalTime end = time(row.get("endTime"));
+            if (!end.isAfter(start)) {
+                throw new IllegalArgumentException("endTime must be after startTime");
+            }
+
+            AllClassAssignment assignment = new AllClassAssignment();
+            assignment.setCourseId(courseId);
+            assignment.setCourseName(course.getName());
+            assignment.setGroupId(group.getGroupId());
+            assignment.setGroupName(group.getGroupName());
+            assignment.setModuleId(module.getModuleId());
+            assignment.setModuleName(module.getTitle());
+            assignment.setInstructorId(instructor.getId());
+            assignment.setInstructorName(instructor.getFirstName() + " " + instructor.getLastName());
+            assignment.setLocation(row.get("location"));
+            assignment.setDate(row.get("date"));
+            assignment.setStartTime(start.toString());
+            assignment.setEndTime(end.toString());
+            return assignment;
+        }
+
+        private static LocalTime time(String value) {
+            try {
+                return LocalTime.parse(value, TIME);
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid time " + value + " (expected HH:mm)");
+            }
+        }
+    }
+
+    // Counts plus the first maxErrors row errors
+    private static final class Report {
+        final int maxErrors;
+        int rows;
+        int imported;
+        int failed;
+        final List<Map<String, Object>> errors = new ArrayList<>();
+
+        Report(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+
+        void fail(int row, String message) {
+            failed++;
+            if (errors.size() < maxErrors) {
+                Map<String, Object> error = new LinkedHashMap<>();
+                error.put("row", row);
+                error.put("error", message);
+                errors.add(error);
+            }
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("rows", rows);
+            map.put("imported", imported);
+            map.put("failed", failed);
+            map.put("errors", errors);
+            map.put("errorsTruncated", failed > errors.size());
+            return map;
+        }
+    }
+}
@@ -18,23 +18,17 @@ public class CustomScheduleService {
         this.customScheduleRepository = customScheduleRepository;
     }
 
-    // Save or update task by checking unique combination of email+day+time
+    // Existing task (id set): updated in place, possibly moved to a new day/time.
+    // New task: saved or updated by its unique combination of email+day+time (one atomic upsert).
+    // Moving onto a slot another task holds throws DuplicateKeyException.
     public CustomSchedule saveOrUpdate(CustomSchedule task) {
-        List<CustomSchedule> existingTasks = customScheduleRepository.findByEmail(task.getEmail());
-
-        for (CustomSchedule existing : existingTasks) {
-            if (existing.getDay().equals(task.getDay()) && existing.getTime().equals(task.getTime())) {
-                // Update existing task's content
-                existing.setTitle(task.getTitle());
-                existing.setDescription(task.getDescription());
-                existing.setIcon(task.getIcon());
-                existing.setColor(task.getColor());
-                return customScheduleRepository.save(existing);
+        if (task.getId() != null && !task.getId().isBlank()) {
+            CustomSchedule moved = customScheduleRepository.updateById(task);
+            if (moved != null) {
+                return moved;
             }
         }
-
-        // If no existing match, create new
-        return customScheduleRepository.save(task);
+        return customScheduleRepository.upsertByEmailAndDayAndTime(task);
     }
 
     // Get all tasks for a specific user
@@ -53,8 +47,7 @@ public class CustomScheduleService {
     }
 
     public void deleteAllByEmail(String email) {
-        List<CustomSchedule> tasks = customScheduleRepository.findByEmail(email);
-        customScheduleRepository.deleteAll(tasks);
+        customScheduleRepository.deleteByEmail(email);
     }
 
 }
@@ -1,23 +1,49 @@
 package com.smartsched.service;
 
 
+import com.smartsched.model.OutboxMail;
+import com.smartsched.repository.MailOutboxRepository;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+// Writes mail to the outbox; MailDispatcher delivers it in the background
 @Service
 public class EmailService {
 
     @Autowired
-    private JavaMailSender mailSender;
+    private MailOutboxRepository outboxRepository;
+
+    @Autowired
+    private MailDispatcher mailDispatcher;
+
+    @Value("${smartsched.mail.from:your_email@gmail.com}")
+    private String from;
 
     public void sendRegistrationEmail(String toEmail, String name) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setTo(toEmail);
-        message.setSubject("Registration Successful");
-        message.setText("Hi " + name + ",\n\nWelcome to SmartSched! Your registration was successful.\n\nCheers,\nThe SmartSched Team");
-        message.setFrom("your_email@gmail.com");
-        mailSender.send(message);
+        queue(toEmail, "Registration Successful",
+                "Hi " + name + ",\n\nWelcome to SmartSched! Your registration was successful.\n\nCheers,\nThe SmartSched Team");
+    }
+
+    // ✅ One outbox document; the request thread never talks to the mail server
+    public void queue(String toEmail, String subject, String text) {
+        outboxRepository.save(new OutboxMail(toEmail, from, subject, text));
+        mailDispatcher.wake();
+    }
+
+    // ✅ Bulk send: one insert for all recipients, delivered in SMTP batches
+    public void queueAll(Collection<String> toEmails, String subject, String text) {
+        List<OutboxMail> mails = new ArrayList<>();
+        for (String toEmail : toEmails) {
+            mails.add(new OutboxMail(toEmail, from, subject, text));
+        }
+        if (!mails.isEmpty()) {
+            outboxRepository.saveAll(mails);
+            mailDispatcher.wake();
+        }
     }
 }
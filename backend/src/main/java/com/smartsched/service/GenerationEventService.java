@@ -0,0 +1,77 @@
+package com.smartsched.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// Fans generation job events out to the SSE subscribers of each job
+@Service
+public class GenerationEventService {
+
+    private final Map<String, List<SseEmitter>> emitters = new ConcurrentHashMap<>();
+    private final long timeoutMillis;
+
+    public GenerationEventService(@Value("${smartsched.jobs.sse-timeout-ms:1800000}") long timeoutMillis) {
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    public SseEmitter subscribe(String jobId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        List<SseEmitter> subscribers = emitters.computeIfAbsent(jobId, id -> new CopyOnWriteArrayList<>());
+        subscribers.add(emitter);
+
+        Runnable unsubscribe = () -> remove(jobId, emitter);
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(e -> unsubscribe.run());
+        return emitter;
+    }
+
+    public boolean hasSubscribers(String jobId) {
+        return emitters.containsKey(jobId);
+    }
+
+    // ✅ Send one event to a single subscriber (e.g. the job snapshot on connect)
+    public void send(SseEmitter emitter, String name, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data));
+        } catch (IOException | IllegalStateException e) {
+            emitter.completeWithError(e);
+        }
+    }
+
+    public void publish(String jobId, String name, Object data) {
+        List<SseEmitter> subscribers = emitters.get(jobId);
+        if (subscribers == null) {
+            return;
+        }
+        for (SseEmitter emitter : subscribers) {
+            send(emitter, name, data);
+        }
+    }
+
+    // ✅ Last event of a job: deliver it and close every stream
+    public void complete(String jobId, String name, Object data) {
+        List<SseEmitter> subscribers = emitters.remove(jobId);
+        if (subscribers == null) {
+            return;
+        }
+        for (SseEmitter emitter : subscribers) {
+            send(emitter, name, data);
+            emitter.complete();
+        }
+    }
+
+    private void remove(String jobId, SseEmitter emitter) {
+        emitters.computeIfPresent(jobId, (id, subscribers) -> {
+            subscribers.remove(emitter);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+}
@@ -0,0 +1,247 @@
+package com.smartsched.service;
+
+import com.smartsched.model.GeneratedSchedule;
+import com.smartsched.model.GenerationJob;
+import com.smartsched.repository.GenerationJobRepository;
+import com.smartsched.service.ai.AISchedulingService;
+import com.smartsched.service.scheduler.GenerationListener;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Service
+public class GenerationJobService {
+
+    private final GenerationJobRepository jobRepository;
+    private final AISchedulingService aiSchedulingService;
+    private final ThreadPoolExecutor generationJobExecutor;
+    private final GenerationEventService eventService;
+    private final ScheduledExecutorService jobTimeoutExecutor;
+    private final long timeoutMs;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+
+    // Jobs queued or running on this instance, by id
+    private final Map<String, JobControl> controls = new ConcurrentHashMap<>();
+
+    public GenerationJobService(GenerationJobRepository jobRepository,
+                                AISchedulingService aiSchedulingService,
+                                @Qualifier("generationJobExecutor") ThreadPoolExecutor generationJobExecutor,
+                                GenerationEventService eventService,
+                                @Qualifier("jobTimeoutExecutor") ScheduledExecutorService jobTimeoutExecutor,
+                                @Value("${smartsched.jobs.timeout-ms:3600000}") long timeoutMs) {
+        this.jobRepository = jobRepository;
+        this.aiSchedulingService = aiSchedulingService;
+        this.generationJobExecutor = generationJobExecutor;
+        this.eventService = eventService;
+        this.jobTimeoutExecutor = jobTimeoutExecutor;
+        this.timeoutMs = timeoutMs;
+    }
+
+    // Queue entry and cancellation flag of a job; the reason is set once, by a cancel request or the timeout
+    private static final class JobControl {
+        private final AtomicReference<String> cancelReason = new AtomicReference<>();
+        private Runnable task;
+
+        boolean cancel(String reason) {
+            return cancelReason.compareAndSet(null, reason);
+        }
+
+        boolean isCancelled() {
+            return cancelReason.get() != null;
+        }
+    }
+
+    // ✅ Persist the job and hand it to a worker; the caller only waits for the insert
+    public GenerationJob enqueue(List<String> emails, String role, String groupName, String requestedBy) {
+        if (emails == null || emails.isEmpty()) {
+            throw new IllegalArgumentException("No valid users found for bulk generation.");
+        }
+
+        GenerationJob job = jobRepository.save(new GenerationJob(emails, role, groupName, requestedBy));
+        JobControl control = new JobControl();
+        control.task = () -> run(job, control);
+        controls.put(job.getId(), control);
+        try {
+            generationJobExecutor.execute(control.task);
+        } catch (RejectedExecutionException e) {
+            controls.remove(job.getId());
+            jobRepository.markFinished(job.getId(), GenerationJob.Status.FAILED, null, "Generation queue is full");
+            throw new IllegalStateException("Generation queue is full, try again later.");
+        }
+
+        System.out.println("🚀 Generation job " + job.getId() + " queued for " + emails.size() + " user(s)");
+        return job;
+    }
+
+    // ✅ Cancels a queued or running job of this instance; false when there is nothing to cancel.
+    // A queued job leaves the queue at once; a running one stops at its next generation and its Python runs are killed.
+    public boolean cancel(String jobId, String requestedBy) {
+        JobControl control = controls.get(jobId);
+        if (control == null || !control.cancel("Cancelled by " + (requestedBy != null ? requestedBy : "an administrator"))) {
+            return false;
+        }
+        if (generationJobExecutor.remove(control.task)) {
+            controls.remove(jobId);
+            jobRepository.markFinished(jobId, GenerationJob.Status.CANCELLED, null, control.cancelReason.get());
+            eventService.complete(jobId, "done", jobRepository.findById(jobId).orElse(null));
+        }
+        System.out.println("⚠️ Generation job " + jobId + " cancelled by " + requestedBy);
+        return true;
+    }
+
+    public Optional<GenerationJob> getJob(String jobId) {
+        return jobRepository.findById(jobId);
+    }
+
+    // ✅ SSE stream of a job: current snapshot first, then live events until the job finishes
+    public Optional<SseEmitter> streamEvents(String jobId) {
+        if (!jobRepository.existsById(jobId)) {
+            return Optional.empty();
+        }
+        // Subscribe before reading the state so a job finishing in between still closes the stream
+        SseEmitter emitter = eventService.subscribe(jobId);
+        GenerationJob job = jobRepository.findById(jobId).orElseThrow();
+        eventService.send(emitter, job.isFinished() ? "done" : "status", job);
+        if (job.isFinished()) {
+            emitter.complete();
+        }
+        return Optional.of(emitter);
+    }
+
+    private void run(GenerationJob job, JobControl control) {
+        String jobId = job.getId();
+        // Hard wall-clock limit: the job is cancelled like a user request would; the timer goes when the job ends
+        ScheduledFuture<?> timeout = jobTimeoutExecutor.schedule(() -> {
+            if (control.cancel("Timed out after " + timeoutMs + " ms")) {
+                System.out.println("⚠️ Generation job " + jobId + " timed out");
+            }
+        }, timeoutMs, TimeUnit.MILLISECONDS);
+        try {
+            jobRepository.markRunning(jobId);
+            job.setStatus(GenerationJob.Status.RUNNING);
+            eventService.publish(jobId, "status", job);
+
+            String log = aiSchedulingService.generateBulk(job.getEmails(), job.getRole(), new JobListener(job, control));
+            if (control.isCancelled()) {
+                jobRepository.markFinished(jobId, GenerationJob.Status.CANCELLED, log, control.cancelReason.get());
+                System.out.println("⚠️ Generation job " + jobId + " stopped: " + control.cancelReason.get());
+            } else {
+                jobRepository.markFinished(jobId, GenerationJob.Status.SUCCEEDED, log, null);
+                System.out.println("✅ Generation job " + jobId + " finished");
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+            try {
+                jobRepository.markFinished(jobId, control.isCancelled() ? GenerationJob.Status.CANCELLED : GenerationJob.Status.FAILED,
+                        null, control.isCancelled() ? control.cancelReason.get() : e.getMessage());
+            } catch (RuntimeException ignored) {
+                System.out.println("❌ Could not store failure of job " + jobId);
+            }
+        } finally {
+            timeout.cancel(false);
+            controls.remove(jobId);
+            eventService.complete(jobId, "done", latest(job));
+        }
+    }
+
+    private GenerationJob latest(GenerationJob job) {
+        try {
+            return jobRepository.findById(job.getId()).orElse(job);
+        } catch (RuntimeException e) {
+            return job;
+        }
+    }
+
+    // Persists per-user progress and forwards GA statistics to the job's SSE subscribers
+    private class JobListener implements GenerationListener {
+        private final GenerationJob job;
+        private final JobControl control;
+        private final AtomicInteger completed = new AtomicInteger();
+
+        JobListener(GenerationJob job, JobControl control) {
+            this.job = job;
+            this.control = control;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return control.isCancelled();
+        }
+
+        @Override
+        public void generationCompleted(String email, int generation, int bestFitness, double meanFitness, long elapsedMillis) {
+            if (!eventService.hasSubscribers(job.getId())) {
+                return;
+            }
+            Map<String, Object> event = new LinkedHashMap<>();
+            event.put("email", email);
+            event.put("generation", generation);
+            event.put("bestFitness", bestFitness);
+            event.put("meanFitness", meanFitness);
+            event.put("elapsedMillis", elapsedMillis);
+            eventService.publish(job.getId(), "generation", event);
+        }
+
+        @Override
+        public void stoppedEarly(String email, int generation, int bestFitness, long elapsedMillis) {
+            Map<String, Object> event = new LinkedHashMap<>();
+            event.put("email", email);
+            event.put("generation", generation);
+            event.put("bestFitness", bestFitness);
+            event.put("elapsedMillis", elapsedMillis);
+            eventService.publish(job.getId(), "early-stop", event);
+        }
+
+        @Override
+        public void userFinished(String email, GeneratedSchedule schedule) {
+            String scheduleId = schedule != null ? schedule.getId() : null;
+            try {
+                jobRepository.recordUserResult(job.getId(), email, scheduleId);
+            } catch (RuntimeException e) {
+                System.out.println("⚠️ Could not record progress of job " + job.getId() + ": " + e.getMessage());
+            }
+
+            int done = completed.incrementAndGet();
+            Map<String, Object> event = new LinkedHashMap<>();
+            event.put("email", email);
+            event.put("scheduleId", scheduleId);
+            event.put("completedUsers", done);
+            event.put("totalUsers", job.getTotalUsers());
+            event.put("progress", job.getTotalUsers() == 0 ? 0 : 100 * done / job.getTotalUsers());
+            eventService.publish(job.getId(), "user", event);
+        }
+    }
+
+    // ✅ Jobs left over from a previous run were lost with its queue; close them off in the background
+    @EventListener(ApplicationReadyEvent.class)
+    public void failInterruptedJobs() {
+        CompletableFuture.runAsync(() -> {
+            try {
+                long failed = jobRepository.failInterruptedJobs(startedAt);
+                if (failed > 0) {
+                    System.out.println("⚠️ Marked " + failed + " interrupted generation job(s) as failed");
+                }
+            } catch (Exception e) {
+                System.out.println("⚠️ Could not recover generation jobs: " + e.getMessage());
+            }
+        });
+    }
+}
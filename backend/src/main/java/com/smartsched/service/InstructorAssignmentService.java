@@ -16,6 +16,9 @@ public class InstructorAssignmentService {
     @Autowired
     private InstructorAssignmentRepository repository;
 
+    @Autowired
+    private UserTimetableService userTimetableService;
+
     public List<InstructorAssignment> getAllInstructors() {
         return repository.findAll();
     }
@@ -32,7 +35,7 @@ public class InstructorAssignmentService {
         if (instructor.getClasses() == null) {
             instructor.setClasses(new HashMap<>());
         }
-        return repository.save(instructor);
+        return save(instructor);
     }
 
     public InstructorAssignment assignModule(String email, String module) {
@@ -41,7 +44,7 @@ public class InstructorAssignmentService {
             InstructorAssignment instructor = instructorOpt.get();
             if (!instructor.getModules().contains(module)) {
                 instructor.getModules().add(module);
-                return repository.save(instructor);
+                return save(instructor);
             }
             return instructor; // Already exists
         }
@@ -53,7 +56,7 @@ public class InstructorAssignmentService {
         if (instructorOpt.isPresent()) {
             InstructorAssignment instructor = instructorOpt.get();
             instructor.getClasses().put(module, className);
-            return repository.save(instructor);
+            return save(instructor);
         }
         return null; // Instructor not found
     }
@@ -64,9 +67,18 @@ public class InstructorAssignmentService {
             InstructorAssignment instructor = instructorOpt.get();
             instructor.getModules().remove(module);
             instructor.getClasses().remove(module);
-            repository.save(instructor);
+            save(instructor);
             return true;
         }
         return false;
     }
+
+    // ✅ Module changes decide which sessions the lecturer sees, so keep user_timetables in step
+    private InstructorAssignment save(InstructorAssignment instructor) {
+        InstructorAssignment saved = repository.save(instructor);
+        if (saved.getEmail() != null) {
+            userTimetableService.refresh(saved.getEmail());
+        }
+        return saved;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,158 @@
+package com.smartsched.service;
+
+import com.smartsched.model.GeneratedSchedule;
+import com.smartsched.model.InstructorAssignment;
+import com.smartsched.model.StudentEnrollment;
+import com.smartsched.repository.GeneratedScheduleRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// LRU cache of each user's latest generated schedule, bounded by the total number of timetable entries held.
+// Invalidated from Mongo save/delete events, so every repository.save() of a schedule, enrollment or assignment counts.
+@Component
+public class LatestScheduleCache extends AbstractMongoEventListener<Object> {
+
+    private final GeneratedScheduleRepository scheduleRepository;
+    private final long maxWeight;
+
+    // Access-ordered: iteration starts at the least recently used entry
+    private final LinkedHashMap<String, GeneratedSchedule> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long weight;
+    // Bumped by every invalidation so a load that raced with one is not cached
+    private long version;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    public LatestScheduleCache(GeneratedScheduleRepository scheduleRepository,
+                               @Value("${smartsched.cache.latest-schedule.max-timetable-entries:50000}") long maxWeight) {
+        this.scheduleRepository = scheduleRepository;
+        this.maxWeight = maxWeight;
+    }
+
+    // ✅ Latest schedule with a timetable for the email, or null
+    public GeneratedSchedule get(String email) {
+        return load(email);
+    }
+
+    // ✅ Latest schedule shared by exactly these class groups, or null
+    public GeneratedSchedule getForGroups(Collection<String> groupIds) {
+        String groupKey = GeneratedSchedule.groupKey(groupIds);
+        return groupKey != null ? load(groupKey) : null;
+    }
+
+    // ✅ A student sees the newer of their own schedule and the one shared by their class groups
+    public GeneratedSchedule getForStudent(String email, Collection<String> groupIds) {
+        GeneratedSchedule own = get(email);
+        GeneratedSchedule shared = getForGroups(groupIds);
+        if (own == null || shared == null) {
+            return own != null ? own : shared;
+        }
+        if (own.getGeneratedAt() == null || shared.getGeneratedAt() == null) {
+            return shared.getGeneratedAt() != null ? shared : own;
+        }
+        return shared.getGeneratedAt().isAfter(own.getGeneratedAt()) ? shared : own;
+    }
+
+    // Owner keys are emails or group keys; shared schedules are cached (and weighed) once for all their students
+    private GeneratedSchedule load(String owner) {
+        long loadVersion;
+        synchronized (this) {
+            GeneratedSchedule cached = entries.get(owner);
+            if (cached != null) {
+                hits++;
+                return cached;
+            }
+            misses++;
+            loadVersion = version;
+        }
+
+        GeneratedSchedule loaded = GeneratedSchedule.isGroupKey(owner)
+                ? scheduleRepository.findTopByGroupKeyAndTimetableNotNullOrderByGeneratedAtDesc(owner)
+                : scheduleRepository.findTopByUserEmailAndTimetableNotNullOrderByGeneratedAtDesc(owner);
+        if (loaded != null) {
+            put(owner, loaded, loadVersion);
+        }
+        return loaded;
+    }
+
+    public synchronized void invalidate(String email) {
+        GeneratedSchedule removed = entries.remove(email);
+        if (removed != null) {
+            weight -= weigh(removed);
+        }
+        version++;
+        invalidations++;
+    }
+
+    public synchronized void invalidateAll() {
+        entries.clear();
+        weight = 0;
+        version++;
+        invalidations++;
+    }
+
+    public synchronized Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        long requests = hits + misses;
+        stats.put("size", entries.size());
+        stats.put("weight", weight);
+        stats.put("maxWeight", maxWeight);
+        stats.put("hits", hits);
+        stats.put("misses", misses);
+        stats.put("hitRate", requests == 0 ? 0.0 : (double) hits / requests);
+        stats.put("evictions", evictions);
+        stats.put("invalidations", invalidations);
+        return stats;
+    }
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<Object> event) {
+        Object source = event.getSource();
+        if (source instanceof GeneratedSchedule schedule) {
+            invalidate(schedule.owner());
+        } else if (source instanceof StudentEnrollment enrollment) {
+            invalidate(enrollment.getEmail());
+        } else if (source instanceof InstructorAssignment assignment) {
+            invalidate(assignment.getEmail());
+        }
+    }
+
+    // Deletes only carry the query, so drop everything when schedules are removed
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<Object> event) {
+        if (GeneratedSchedule.class.equals(event.getType())) {
+            invalidateAll();
+        }
+    }
+
+    private synchronized void put(String email, GeneratedSchedule schedule, long loadVersion) {
+        long entryWeight = weigh(schedule);
+        if (loadVersion != version || entryWeight > maxWeight) {
+            return;
+        }
+        GeneratedSchedule previous = entries.put(email, schedule);
+        weight += entryWeight - (previous != null ? weigh(previous) : 0);
+
+        Iterator<GeneratedSchedule> eldest = entries.values().iterator();
+        while (weight > maxWeight && eldest.hasNext()) {
+            weight -= weigh(eldest.next());
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    private static long weigh(GeneratedSchedule schedule) {
+        return 1 + (schedule.getTimetable() != null ? schedule.getTimetable().size() : 0);
+    }
+}
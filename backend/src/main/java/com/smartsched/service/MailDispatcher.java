@@ -0,0 +1,142 @@
+package com.smartsched.service;
+
+import com.smartsched.model.OutboxMail;
+import com.smartsched.repository.MailOutboxRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Drains mail_outbox in batches; each batch goes over one SMTP connection, failures are retried with backoff
+@Service
+public class MailDispatcher {
+
+    private final MailOutboxRepository outboxRepository;
+    private final JavaMailSender mailSender;
+    private final ScheduledExecutorService executor;
+    private final int batchSize;
+    private final long intervalMs;
+    private final int maxAttempts;
+    private final long retryBaseMs;
+    private final long leaseMs;
+
+    public MailDispatcher(MailOutboxRepository outboxRepository,
+                          JavaMailSender mailSender,
+                          @Qualifier("mailDispatchExecutor") ScheduledExecutorService executor,
+                          @Value("${smartsched.mail.batch-size:20}") int batchSize,
+                          @Value("${smartsched.mail.interval-ms:10000}") long intervalMs,
+                          @Value("${smartsched.mail.max-attempts:5}") int maxAttempts,
+                          @Value("${smartsched.mail.retry-base-ms:30000}") long retryBaseMs,
+                          @Value("${smartsched.mail.lease-ms:300000}") long leaseMs) {
+        this.outboxRepository = outboxRepository;
+        this.mailSender = mailSender;
+        this.executor = executor;
+        this.batchSize = batchSize;
+        this.intervalMs = intervalMs;
+        this.maxAttempts = maxAttempts;
+        this.retryBaseMs = retryBaseMs;
+        this.leaseMs = leaseMs;
+    }
+
+    // ✅ Periodic drain picks up retries and mails left over from a restart
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        executor.scheduleWithFixedDelay(this::drainSafely, 0, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    // ✅ Called after enqueueing so fresh mail does not wait for the next tick
+    public void wake() {
+        try {
+            executor.execute(this::drainSafely);
+        } catch (RejectedExecutionException e) {
+            // shutting down; the mail stays PENDING for the next start
+        }
+    }
+
+    private void drainSafely() {
+        try {
+            drain();
+        } catch (Exception e) {
+            System.out.println("⚠️ Mail dispatch pass failed: " + e.getMessage());
+        }
+    }
+
+    // Claims and sends batches until the outbox has nothing due
+    public void drain() {
+        List<OutboxMail> batch;
+        do {
+            batch = outboxRepository.claimBatch(batchSize, LocalDateTime.now().minusNanos(leaseMs * 1_000_000));
+            if (!batch.isEmpty()) {
+                sendBatch(batch);
+            }
+        } while (batch.size() == batchSize);
+    }
+
+    void sendBatch(List<OutboxMail> batch) {
+        Map<SimpleMailMessage, OutboxMail> messages = new IdentityHashMap<>();
+        for (OutboxMail mail : batch) {
+            SimpleMailMessage message = new SimpleMailMessage();
+            message.setTo(mail.getTo());
+            message.setFrom(mail.getFrom());
+            message.setSubject(mail.getSubject());
+            message.setText(mail.getText());
+            messages.put(message, mail);
+        }
+
+        Map<Object, Exception> failed = Map.of();
+        try {
+            mailSender.send(messages.keySet().toArray(new SimpleMailMessage[0]));
+        } catch (MailSendException e) {
+            failed = e.getFailedMessages();
+            if (failed.isEmpty()) {
+                retryAll(messages, e);
+                return;
+            }
+        } catch (MailException e) {
+            retryAll(messages, e); // e.g. authentication or connection failure: nothing was sent
+            return;
+        }
+
+        for (Map.Entry<SimpleMailMessage, OutboxMail> entry : messages.entrySet()) {
+            Exception error = failed.get(entry.getKey());
+            if (error == null) {
+                outboxRepository.markSent(entry.getValue().getId());
+            } else {
+                retry(entry.getValue(), error);
+            }
+        }
+        System.out.println("✅ Mail batch sent: " + (batch.size() - failed.size()) + "/" + batch.size());
+    }
+
+    private void retryAll(Map<SimpleMailMessage, OutboxMail> messages, Exception error) {
+        System.out.println("❌ Mail batch failed: " + error.getMessage());
+        for (OutboxMail mail : messages.values()) {
+            retry(mail, error);
+        }
+    }
+
+    // Exponential backoff: base, 2×base, 4×base ... until maxAttempts
+    private void retry(OutboxMail mail, Exception error) {
+        int attempts = mail.getAttempts() + 1;
+        if (attempts >= maxAttempts) {
+            outboxRepository.markFailed(mail.getId(), attempts, error.getMessage());
+            System.out.println("❌ Giving up on mail to " + mail.getTo() + " after " + attempts + " attempts");
+            return;
+        }
+        long delayMs = retryBaseMs << Math.min(attempts - 1, 20);
+        outboxRepository.markRetry(mail.getId(), attempts, LocalDateTime.now().plusNanos(delayMs * 1_000_000), error.getMessage());
+    }
+}
@@ -0,0 +1,136 @@
+package com.smartsched.service;
+
+import com.smartsched.repository.GeneratedScheduleRepository;
+import com.smartsched.repository.ScheduleCandidateRepository;
+import com.smartsched.repository.custom.CollectionStorage;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// Keeps generated_schedules bounded: the newest N schedules per user/group survive, older ones are deleted.
+// Ranked candidates (generated_schedules_all) expire through their TTL index; both collections are then
+// optionally compacted and the bytes reclaimed are reported.
+@Service
+public class ScheduleRetentionService {
+
+    private final GeneratedScheduleRepository scheduleRepository;
+    private final ScheduleCandidateRepository candidateRepository;
+    private final ScheduledExecutorService executor;
+    private final int keepPerOwner;
+    private final long intervalMinutes;
+    private final long initialDelayMinutes;
+    private final boolean compact;
+
+    private volatile Map<String, Object> lastReport;
+
+    public ScheduleRetentionService(GeneratedScheduleRepository scheduleRepository,
+                                    ScheduleCandidateRepository candidateRepository,
+                                    @Qualifier("retentionExecutor") ScheduledExecutorService executor,
+                                    @Value("${smartsched.retention.keep-per-owner:5}") int keepPerOwner,
+                                    @Value("${smartsched.retention.interval-minutes:1440}") long intervalMinutes,
+                                    @Value("${smartsched.retention.initial-delay-minutes:10}") long initialDelayMinutes,
+                                    @Value("${smartsched.retention.compact:false}") boolean compact) {
+        if (keepPerOwner < 1) {
+            throw new IllegalArgumentException("smartsched.retention.keep-per-owner must be at least 1");
+        }
+        this.scheduleRepository = scheduleRepository;
+        this.candidateRepository = candidateRepository;
+        this.executor = executor;
+        this.keepPerOwner = keepPerOwner;
+        this.intervalMinutes = intervalMinutes;
+        this.initialDelayMinutes = initialDelayMinutes;
+        this.compact = compact;
+    }
+
+    // ✅ Runs off-peak by default: first pass a few minutes after startup, then once a day
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (intervalMinutes > 0) {
+            executor.scheduleWithFixedDelay(this::runSafely, initialDelayMinutes, intervalMinutes, TimeUnit.MINUTES);
+        }
+    }
+
+    // ✅ On-demand pass on the same single thread, so it never overlaps a scheduled one
+    public void trigger() {
+        try {
+            executor.execute(this::runSafely);
+        } catch (RejectedExecutionException e) {
+            throw new IllegalStateException("Retention job is shutting down");
+        }
+    }
+
+    // Report of the last finished pass, or null before the first one
+    public Map<String, Object> getLastReport() {
+        return lastReport;
+    }
+
+    private void runSafely() {
+        try {
+            run();
+        } catch (Exception e) {
+            System.out.println("⚠️ Schedule retention pass failed: " + e.getMessage());
+        }
+    }
+
+    public Map<String, Object> run() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("startedAt", LocalDateTime.now().toString());
+        report.put("keepPerOwner", keepPerOwner);
+
+        Map<String, Object> schedules = pass(scheduleRepository::storageStats,
+                () -> scheduleRepository.deleteAllButLatest(keepPerOwner), scheduleRepository::compact);
+        // Candidates are removed by the TTL monitor; this pass only compacts and measures
+        Map<String, Object> candidates = pass(candidateRepository::storageStats, () -> 0L, candidateRepository::compact);
+
+        report.put("generatedSchedules", schedules);
+        report.put("generatedSchedulesAll", candidates);
+        report.put("finishedAt", LocalDateTime.now().toString());
+        lastReport = report;
+
+        System.out.println("✅ Schedule retention: deleted " + schedules.get("deleted") + " old schedule(s), reclaimed "
+                + schedules.get("dataBytesReclaimed") + " + " + candidates.get("dataBytesReclaimed") + " data bytes, "
+                + schedules.get("storageBytesReclaimed") + " + " + candidates.get("storageBytesReclaimed") + " storage bytes");
+        return report;
+    }
+
+    // Storage before and after deleting (and compacting); a refused compact is reported, not fatal
+    private Map<String, Object> pass(Supplier<CollectionStorage> stats, Supplier<Long> delete, Runnable compactor) {
+        CollectionStorage before = stats.get();
+        long deleted = delete.get();
+
+        String compactError = null;
+        if (compact) {
+            try {
+                compactor.run();
+            } catch (RuntimeException e) {
+                compactError = e.getMessage();
+            }
+        }
+        CollectionStorage after = stats.get();
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("deleted", deleted);
+        result.put("before", before.toMap());
+        result.put("after", after.toMap());
+        result.put("dataBytesReclaimed", Math.max(0, before.dataBytes() - after.dataBytes()));
+        result.put("indexBytesReclaimed", Math.max(0, before.indexBytes() - after.indexBytes()));
+        // Without compact WiredTiger keeps freed blocks for reuse (freeBytes) instead of returning them
+        result.put("storageBytesReclaimed", Math.max(0, before.storageBytes() + before.indexBytes()
+                - after.storageBytes() - after.indexBytes()));
+        result.put("compacted", compact && compactError == null);
+        if (compactError != null) {
+            result.put("compactError", compactError);
+        }
+        return result;
+    }
+}
@@ -1,16 +1,20 @@
 package com.smartsched.service;
 
+import com.smartsched.model.ConflictIssue;
 import com.smartsched.model.GeneratedSchedule;
 import com.smartsched.model.InstructorAssignment;
+import com.smartsched.model.ScheduleSession;
 import com.smartsched.model.StudentEnrollment;
 import com.smartsched.repository.GeneratedScheduleRepository;
 import com.smartsched.repository.InstructorAssignmentRepository;
 import com.smartsched.repository.StudentEnrollmentRepository;
+import com.smartsched.repository.custom.CustomGeneratedScheduleRepository.ResourceLane;
+import com.smartsched.utils.ConflictChecker;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class ScheduleService {
@@ -18,6 +22,9 @@ public class ScheduleService {
     @Autowired
     private GeneratedScheduleRepository scheduleRepo;
 
+    @Autowired
+    private LatestScheduleCache latestScheduleCache;
+
     @Autowired
     private StudentEnrollmentRepository studentRepo;
 
@@ -25,11 +32,8 @@ public class ScheduleService {
     private InstructorAssignmentRepository instructorRepo;
 
     // ✅ Get Student Timetable (Filtered by groupId)
-    public Map<String, List<Map<String, Object>>> getScheduleForStudent(String email) {
-        StudentEnrollment student = studentRepo.findAll().stream()
-                .filter(s -> email.equalsIgnoreCase(s.getEmail()))
-                .findFirst()
-                .orElse(null);
+    public Map<String, List<ScheduleSession>> getScheduleForStudent(String email) {
+        StudentEnrollment student = studentRepo.findFirstByEmailInsensitive(email).orElse(null);
 
         if (student == null || student.getCourseClasses() == null) {
             return Collections.singletonMap("timetable", new ArrayList<>());
@@ -37,34 +41,22 @@ public class ScheduleService {
 
         Set<String> groupIds = new HashSet<>(student.getCourseClasses().values());
 
-        GeneratedSchedule latestSchedule = scheduleRepo
-    .findTopByUserEmailAndTimetableNotNullOrderByGeneratedAtDesc(email);
+        GeneratedSchedule latestSchedule = latestScheduleCache.getForStudent(email, student.classGroupIds());
 
 
         if (latestSchedule == null || latestSchedule.getTimetable() == null) {
             return Collections.singletonMap("timetable", new ArrayList<>());
         }
 
-        Set<String> seen = new HashSet<>();
-        List<Map<String, Object>> filtered = latestSchedule.getTimetable().stream()
-                .filter(entry -> groupIds.contains(String.valueOf(entry.get("group_id"))))
-                .filter(entry -> {
-                    String key = entry.get("module_name") + "|" + entry.get("group_name") + "|" +
-                            entry.get("day") + "|" + entry.get("start_time") + "|" + entry.get("end_time") + "|" +
-                            entry.get("location");
-                    return seen.add(key);
-                })
-                .collect(Collectors.toList());
+        List<ScheduleSession> filtered = ScheduleSession.distinctCells(latestSchedule.getTimetable(),
+                entry -> entry.getGroupId() != null && groupIds.contains(entry.getGroupId()));
 
         return Collections.singletonMap("timetable", filtered);
     }
 
     // ✅ Get Instructor Timetable (Filtered by instructorId)
-    public Map<String, List<Map<String, Object>>> getScheduleForInstructor(String email) {
-        InstructorAssignment instructor = instructorRepo.findAll().stream()
-                .filter(i -> email.equalsIgnoreCase(i.getEmail()))
-                .findFirst()
-                .orElse(null);
+    public Map<String, List<ScheduleSession>> getScheduleForInstructor(String email) {
+        InstructorAssignment instructor = instructorRepo.findFirstByEmailInsensitive(email).orElse(null);
 
         if (instructor == null) {
             return Collections.singletonMap("timetable", new ArrayList<>());
@@ -72,24 +64,14 @@ public class ScheduleService {
 
         String instructorId = String.valueOf(instructor.getId());
 
-        GeneratedSchedule latestSchedule = scheduleRepo
-    .findTopByUserEmailAndTimetableNotNullOrderByGeneratedAtDesc(email);
+        GeneratedSchedule latestSchedule = latestScheduleCache.get(email);
 
         if (latestSchedule == null || latestSchedule.getTimetable() == null) {
             return Collections.singletonMap("timetable", new ArrayList<>());
         }
 
-        Set<String> seen = new HashSet<>();
-        List<Map<String, Object>> filtered = latestSchedule.getTimetable().stream()
-                .filter(entry -> instructorId.equals(String.valueOf(entry.get("instructor_id"))))
-                .filter(entry -> {
-                    // Use a more strict key to eliminate duplicates
-                    String key = entry.get("module_name") + "|" + entry.get("group_name") + "|" +
-                            entry.get("day") + "|" + entry.get("start_time") + "|" + entry.get("end_time") + "|" +
-                            entry.get("location");
-                    return seen.add(key);
-                })
-                .collect(Collectors.toList());
+        List<ScheduleSession> filtered = ScheduleSession.distinctCells(latestSchedule.getTimetable(),
+                entry -> instructorId.equals(entry.getInstructorId()));
 
         return Collections.singletonMap("timetable", filtered);
     }
@@ -98,29 +80,24 @@ public class ScheduleService {
         return scheduleRepo.findAll();
     }
 
+    // ✅ Instructor, group and room double-bookings (including partial overlaps) across all stored schedules
     public List<Map<String, Object>> getScheduleConflicts() {
-        List<GeneratedSchedule> allSchedules = scheduleRepo.findAll();
-    
-        Map<String, List<Map<String, Object>>> groupedByTimeSlot = new HashMap<>();
-        for (GeneratedSchedule schedule : allSchedules) {
-            for (Map<String, Object> session : schedule.getTimetable()) {
-                String key = session.get("day") + "-" + session.get("start_time") + "-" + session.get("end_time") + "-" + session.get("location");
-                groupedByTimeSlot.computeIfAbsent(key, k -> new ArrayList<>()).add(session);
-            }
+        List<ConflictIssue> clashes = new ArrayList<>();
+        // ✅ Only contended (resource, day) lanes of each user's latest schedule leave the database
+        try (Stream<ResourceLane> lanes = scheduleRepo.streamContendedLanes()) {
+            lanes.forEach(lane -> clashes.addAll(ConflictChecker.sweepLane(lane.type(), lane.intervals())));
         }
-    
+
         List<Map<String, Object>> conflicts = new ArrayList<>();
-        for (Map.Entry<String, List<Map<String, Object>>> entry : groupedByTimeSlot.entrySet()) {
-            if (entry.getValue().size() > 1) {
-                Map<String, Object> conflict = new HashMap<>();
-                conflict.put("timeSlot", entry.getKey());
-                conflict.put("sessions", entry.getValue());
-                conflicts.add(conflict);
-            }
+        for (ConflictIssue issue : clashes) {
+            Map<String, Object> conflict = new LinkedHashMap<>();
+            conflict.put("timeSlot", issue.getDay() + " " + issue.getOverlapStart() + "-" + issue.getOverlapEnd()
+                    + " · " + issue.getType() + " " + issue.getResource());
+            conflict.put("type", issue.getType());
+            conflict.put("resource", issue.getResource());
+            conflict.put("sessions", List.of(issue.getFirst(), issue.getSecond()));
+            conflicts.add(conflict);
         }
-    
         return conflicts;
     }
-    
-    
 }
@@ -1,26 +1,40 @@
 package com.smartsched.service;
 
+import com.mongodb.bulk.BulkWriteResult;
+import com.smartsched.dto.EnrollmentChange;
 import com.smartsched.model.StudentEnrollment;
 import com.smartsched.repository.StudentEnrollmentRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 
 @Service
 public class StudentEnrollmentService {
 
     private final StudentEnrollmentRepository repository;
+    private final UserTimetableService userTimetableService;
+    private final LatestScheduleCache latestScheduleCache;
+
+    private static final int MAX_BULK_CHANGES = 1000;
 
     @Autowired
-    public StudentEnrollmentService(StudentEnrollmentRepository repository) {
+    public StudentEnrollmentService(StudentEnrollmentRepository repository,
+                                    UserTimetableService userTimetableService,
+                                    LatestScheduleCache latestScheduleCache) {
         this.repository = repository;
+        this.userTimetableService = userTimetableService;
+        this.latestScheduleCache = latestScheduleCache;
     }
 
     // Create a new enrollment
     public StudentEnrollment createEnrollment(StudentEnrollment enrollment) {
-        return repository.save(enrollment);
+        return save(enrollment);
     }
 
     // Get all enrollments
@@ -37,6 +51,9 @@ public class StudentEnrollmentService {
     // Update an enrollment
     public StudentEnrollment updateEnrollment(String id, StudentEnrollment enrollment) {
         StudentEnrollment existingEnrollment = getEnrollmentById(id);
+        if (existingEnrollment.getEmail() != null && !existingEnrollment.getEmail().equalsIgnoreCase(enrollment.getEmail())) {
+            userTimetableService.deleteStudent(existingEnrollment.getEmail());
+        }
         
         // Update fields
         existingEnrollment.setFirstName(enrollment.getFirstName());
@@ -46,79 +63,110 @@ public class StudentEnrollmentService {
         existingEnrollment.setCourseModules(enrollment.getCourseModules());
         existingEnrollment.setCourseClasses(enrollment.getCourseClasses());
         
-        return repository.save(existingEnrollment);
+        return save(existingEnrollment);
     }
 
     // Delete an enrollment
     public void deleteEnrollment(String id) {
+        repository.findById(id).ifPresent(enrollment -> {
+            if (enrollment.getEmail() != null) {
+                userTimetableService.deleteStudent(enrollment.getEmail());
+            }
+        });
         repository.deleteById(id);
     }
 
     // Add a course to enrollment
     public StudentEnrollment addCourse(String id, String courseName) {
-        StudentEnrollment enrollment = getEnrollmentById(id);
-        
-        if (!enrollment.getCourses().contains(courseName)) {
-            enrollment.getCourses().add(courseName);
-            enrollment.getCourseModules().put(courseName, List.of());
-            enrollment.getCourseClasses().put(courseName, null);
-        }
-        
-        return repository.save(enrollment);
+        return apply(new EnrollmentChange(id, EnrollmentChange.Operation.ADD_COURSE, courseName, null, null));
     }
 
     // Remove a course from enrollment
     public StudentEnrollment removeCourse(String id, String courseName) {
-        StudentEnrollment enrollment = getEnrollmentById(id);
-        
-        enrollment.getCourses().remove(courseName);
-        enrollment.getCourseModules().remove(courseName);
-        enrollment.getCourseClasses().remove(courseName);
-        
-        return repository.save(enrollment);
+        return apply(new EnrollmentChange(id, EnrollmentChange.Operation.REMOVE_COURSE, courseName, null, null));
     }
 
     // Add a module to a course
     public StudentEnrollment addModule(String id, String courseName, String moduleName) {
-        StudentEnrollment enrollment = getEnrollmentById(id);
-        
-        if (enrollment.getCourseModules().containsKey(courseName)) {
-            List<String> modules = enrollment.getCourseModules().get(courseName);
-            if (!modules.contains(moduleName)) {
-                modules.add(moduleName);
-                enrollment.getCourseModules().put(courseName, modules);
-            }
-        }
-        
-        return repository.save(enrollment);
+        return apply(new EnrollmentChange(id, EnrollmentChange.Operation.ADD_MODULE, courseName, moduleName, null));
     }
 
     // Remove a module from a course
     public StudentEnrollment removeModule(String id, String courseName, String moduleName) {
-        StudentEnrollment enrollment = getEnrollmentById(id);
-        
-        if (enrollment.getCourseModules().containsKey(courseName)) {
-            List<String> modules = enrollment.getCourseModules().get(courseName);
-            modules.remove(moduleName);
-            enrollment.getCourseModules().put(courseName, modules);
-        }
-        
-        return repository.save(enrollment);
+        return apply(new EnrollmentChange(id, EnrollmentChange.Operation.REMOVE_MODULE, courseName, moduleName, null));
     }
 
     // Assign/Update class for a course
     public StudentEnrollment assignClass(String id, String courseName, String className) {
-        StudentEnrollment enrollment = getEnrollmentById(id);
-        
-        if (enrollment.getCourseClasses().containsKey(courseName)) {
-            enrollment.getCourseClasses().put(courseName, className);
+        return apply(new EnrollmentChange(id, EnrollmentChange.Operation.ASSIGN_CLASS, courseName, null, className));
+    }
+
+    // ✅ Many edits in one bulkWrite; views are refreshed once per touched student
+    public Map<String, Object> applyChanges(List<EnrollmentChange> changes) {
+        if (changes == null || changes.isEmpty()) {
+            throw new IllegalArgumentException("No enrollment changes given");
+        }
+        if (changes.size() > MAX_BULK_CHANGES) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_CHANGES + " changes per request");
+        }
+        for (EnrollmentChange change : changes) {
+            validate(change);
+        }
+
+        BulkWriteResult result = repository.applyChanges(changes);
+        if (result.getModifiedCount() > 0) {
+            Set<String> ids = new HashSet<>();
+            for (EnrollmentChange change : changes) {
+                ids.add(change.getEnrollmentId());
+            }
+            for (StudentEnrollment enrollment : repository.findAllById(ids)) {
+                changed(enrollment.getEmail());
+            }
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("requested", changes.size());
+        response.put("matched", result.getMatchedCount());
+        response.put("modified", result.getModifiedCount());
+        return response;
+    }
+
+    // ✅ Single atomic update; when its precondition does not hold (e.g. course already added) nothing changes
+    private StudentEnrollment apply(EnrollmentChange change) {
+        validate(change);
+        StudentEnrollment updated = repository.applyChange(change);
+        if (updated == null) {
+            return getEnrollmentById(change.getEnrollmentId());
+        }
+        changed(updated.getEmail());
+        return updated;
+    }
+
+    private static void validate(EnrollmentChange change) {
+        if (change == null || change.getEnrollmentId() == null || change.getOperation() == null) {
+            throw new IllegalArgumentException("Each change needs an enrollmentId and an operation");
+        }
+    }
+
+    // Field updates bypass save events, so caches and views are refreshed here
+    private void changed(String email) {
+        if (email != null) {
+            latestScheduleCache.invalidate(email);
+            userTimetableService.refresh(email);
         }
-        
-        return repository.save(enrollment);
     }
 
     // Search students by name
     public List<StudentEnrollment> searchByName(String name) {
         return repository.findByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCase(name, name);
     }
+
+    // ✅ Class changes decide which sessions the student sees, so keep user_timetables in step
+    private StudentEnrollment save(StudentEnrollment enrollment) {
+        StudentEnrollment saved = repository.save(enrollment);
+        if (saved.getEmail() != null) {
+            userTimetableService.refresh(saved.getEmail());
+        }
+        return saved;
+    }
 }
\ No newline at end of file
@@ -1,16 +1,15 @@
 package com.smartsched.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.smartsched.dto.BulkScheduleRequest;
 import com.smartsched.model.ConflictIssue;
 import com.smartsched.model.GeneratedSchedule;
+import com.smartsched.model.GenerationJob;
 import com.smartsched.model.User;
 import com.smartsched.repository.GeneratedScheduleRepository;
 import com.smartsched.repository.UserRepository;
 import com.smartsched.utils.ConflictChecker;
 import org.springframework.stereotype.Service;
 
-import java.io.*;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -19,59 +18,23 @@ public class SuperadminScheduleService {
 
     private final UserRepository userRepository;
     private final GeneratedScheduleRepository scheduleRepository;
-
-    private final String PYTHON_PATH = "venv/bin/python3"; // adjust if needed
-    private final String SCRIPT_PATH = "src/main/resources/ai/scheduler.py";
+    private final GenerationJobService generationJobService;
 
     public SuperadminScheduleService(UserRepository userRepository,
-                                     GeneratedScheduleRepository scheduleRepository) {
+                                     GeneratedScheduleRepository scheduleRepository,
+                                     GenerationJobService generationJobService) {
         this.userRepository = userRepository;
         this.scheduleRepository = scheduleRepository;
+        this.generationJobService = generationJobService;
     }
 
-    public Map<String, Object> generateBulkSchedules(BulkScheduleRequest request) {
+    // ✅ Queue bulk generation; progress is polled through /api/schedule/jobs/{id}
+    public GenerationJob enqueueBulkSchedules(BulkScheduleRequest request, String requestedBy) {
         List<String> emails = getTargetEmails(request);
-        String role = request.getRole();
-
         if (emails.isEmpty()) {
             throw new IllegalArgumentException("No valid users found for bulk generation.");
         }
-
-        try {
-            // Prepare Python script arguments
-            List<String> command = new ArrayList<>();
-            command.add(PYTHON_PATH);
-            command.add(SCRIPT_PATH);
-            command.add("--emails");
-            command.add(String.join(",", emails));
-            command.add("--role");
-            command.add(role == null ? "" : role);
-
-            // Run the script
-            ProcessBuilder processBuilder = new ProcessBuilder(command);
-            processBuilder.redirectErrorStream(true);
-            Process process = processBuilder.start();
-
-            BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
-            StringBuilder outputLog = new StringBuilder();
-            String line;
-            while ((line = reader.readLine()) != null) {
-                outputLog.append(line).append("\n");
-            }
-
-            int exitCode = process.waitFor();
-            if (exitCode != 0) {
-                throw new RuntimeException("AI scheduler failed: " + outputLog);
-            }
-
-            Map<String, Object> result = new HashMap<>();
-            result.put("message", "Timetables generated successfully.");
-            result.put("log", outputLog.toString());
-            return result;
-
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to generate schedules: " + e.getMessage(), e);
-        }
+        return generationJobService.enqueue(emails, request.getRole(), request.getGroupName(), requestedBy);
     }
 
     public List<ConflictIssue> checkConflicts(BulkScheduleRequest request) {
@@ -80,8 +43,9 @@ public class SuperadminScheduleService {
             throw new IllegalArgumentException("No valid users found to check conflicts.");
         }
 
-        List<GeneratedSchedule> schedules = scheduleRepository.findByUserEmailIn(emails);
-        return ConflictChecker.detectConflicts(schedules);
+        // Retention keeps a few generations per owner; only the newest one of each is checked
+        List<GeneratedSchedule> schedules = scheduleRepository.findByUserEmailInOrMemberEmailsIn(emails, emails);
+        return ConflictChecker.detectConflicts(ConflictChecker.latestPerOwner(schedules));
     }
 
     // ✅ Utility method to fetch target emails
@@ -2,13 +2,14 @@ package com.smartsched.service;
 
 import com.smartsched.model.GeneratedSchedule;
 import com.smartsched.model.InstructorAssignment;
+import com.smartsched.model.ScheduleSession;
 import com.smartsched.model.StudentEnrollment;
 import com.smartsched.model.User;
+import com.smartsched.model.UserTimetable;
 import com.smartsched.repository.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDate;
 import java.util.*;
 import java.util.stream.Collectors;
 import com.smartsched.model.Event;
@@ -20,7 +21,7 @@ public class TimetableService {
     private UserRepository userRepository;
 
     @Autowired
-    private GeneratedScheduleRepository scheduleRepository;
+    private LatestScheduleCache latestScheduleCache;
 
     @Autowired
     private StudentEnrollmentRepository studentEnrollmentRepository;
@@ -29,17 +30,14 @@ public class TimetableService {
     private InstructorAssignmentRepository instructorAssignmentRepository;
 
     @Autowired
-    private StudentEnrollmentRepository studentRepo;
+    private UserTimetableService userTimetableService;
 
     @Autowired
-    private GeneratedScheduleRepository scheduleRepo;
-
-    @Autowired
-    private EventRepository eventRepository;
+    private UpcomingEventsCache upcomingEventsCache;
 
 
     // ✅ Existing method (by MongoDB _id)
-    public List<Map<String, Object>> getTimetableForUser(String userId) {
+    public List<ScheduleSession> getTimetableForUser(String userId) {
         User user = userRepository.findById(userId).orElse(null);
         if (user == null) {
             throw new RuntimeException("User not found");
@@ -52,9 +50,14 @@ public class TimetableService {
     }
 
     // ✅ New method (email + role)
-    public List<Map<String, Object>> getTimetableByEmailAndRole(String email, String role) {
-    GeneratedSchedule latestSchedule = scheduleRepository
-    .findTopByUserEmailAndTimetableNotNullOrderByGeneratedAtDesc(email);
+    public List<ScheduleSession> getTimetableByEmailAndRole(String email, String role) {
+    StudentEnrollment student = "student".equalsIgnoreCase(role)
+            ? studentEnrollmentRepository.findByEmail(email).orElse(null)
+            : null;
+    // Students may be served by the schedule shared by their class groups
+    GeneratedSchedule latestSchedule = student != null && student.getCourseClasses() != null
+            ? latestScheduleCache.getForStudent(email, student.classGroupIds())
+            : latestScheduleCache.get(email);
 
 
     if (latestSchedule == null || latestSchedule.getTimetable() == null) {
@@ -62,10 +65,9 @@ public class TimetableService {
         return List.of();
     }
 
-    List<Map<String, Object>> timetable = latestSchedule.getTimetable();
+    List<ScheduleSession> timetable = latestSchedule.getTimetable();
 
     if ("student".equalsIgnoreCase(role)) {
-        StudentEnrollment student = studentEnrollmentRepository.findByEmail(email).orElse(null);
         if (student == null) {
             System.out.println("⚠️ No student enrollment found for: " + email);
             return List.of();
@@ -76,9 +78,9 @@ public class TimetableService {
 
         return timetable.stream()
                 .filter(slot -> {
-                    Object className = slot.get("className");
+                    String className = slot.getClassName();
                     if (className == null) return false;
-                    boolean match = classNames.contains(className.toString());
+                    boolean match = classNames.contains(className);
                     if (!match) {
                         System.out.println("⛔ Mismatch: " + className + " not in " + classNames);
                     }
@@ -96,10 +98,7 @@ public class TimetableService {
         Set<String> moduleNames = new HashSet<>(instructor.getModules());
 
         return timetable.stream()
-                .filter(slot -> {
-                    Object module = slot.get("module");
-                    return module != null && moduleNames.contains(module.toString());
-                })
+                .filter(slot -> slot.moduleKey() != null && moduleNames.contains(slot.moduleKey()))
                 .collect(Collectors.toList());
     }
 
@@ -107,102 +106,29 @@ public class TimetableService {
 }
 
 public Map<String, Object> getStudentScheduleWithMetadata(String email) {
-    StudentEnrollment student = studentRepo.findAll().stream()
-            .filter(s -> email.equalsIgnoreCase(s.getEmail()))
-            .findFirst()
-            .orElse(null);
-
-    if (student == null || student.getCourseClasses() == null) {
-        return Map.of("timetable", new ArrayList<>(), "events", new ArrayList<>(), "generatedAt", null);
-    }
-
-    Set<String> groupIds = new HashSet<>(student.getCourseClasses().values());
-
-    GeneratedSchedule latestSchedule = scheduleRepo
-            .findTopByUserEmailAndTimetableNotNullOrderByGeneratedAtDesc(email);
-
-    List<Map<String, Object>> filteredTimetable = new ArrayList<>();
-    if (latestSchedule != null && latestSchedule.getTimetable() != null) {
-        Set<String> seen = new HashSet<>();
-        filteredTimetable = latestSchedule.getTimetable().stream()
-                .filter(entry -> groupIds.contains(String.valueOf(entry.get("group_id"))))
-                .filter(entry -> {
-                    String key = entry.get("module_name") + "|" + entry.get("group_name") + "|" +
-                            entry.get("day") + "|" + entry.get("start_time") + "|" + entry.get("end_time") + "|" +
-                            entry.get("location");
-                    return seen.add(key);
-                })
-                .collect(Collectors.toList());
-    }
+    UserTimetable view = userTimetableService.getStudentTimetable(email);
 
-    // Fetch all upcoming events separately
-    List<Event> events = eventRepository.findAll().stream()
-        .filter(event -> event.getEventDate().isAfter(LocalDate.now().minusDays(1)))
-        .sorted(Comparator.comparing(Event::getEventDate))
-        .collect(Collectors.toList());
-
-    return Map.of(
-        "timetable", filteredTimetable,
-        "events", events,
-        "generatedAt", latestSchedule != null ? latestSchedule.getGeneratedAt().toString() : null
-    );
+    return withMetadata(view, upcomingEventsCache.get());
 }
 
 public Map<String, Object> getLecturerScheduleWithMetadata(String email) {
     System.out.println("📥 Called getLecturerScheduleWithMetadata for: " + email);
 
-    InstructorAssignment instructor = instructorAssignmentRepository.findByEmail(email).orElse(null);
-    if (instructor == null) {
-        System.out.println("⚠️ No instructor assignment found.");
-        return Map.of("timetable", List.of(), "events", List.of(), "generatedAt", null);
-    }
-
-    Set<String> moduleNames = new HashSet<>(instructor.getModules());
-    GeneratedSchedule latestSchedule = scheduleRepo.findTopByUserEmailAndTimetableNotNullOrderByGeneratedAtDesc(email);
-
-    List<Map<String, Object>> filteredTimetable = new ArrayList<>();
-    if (latestSchedule != null && latestSchedule.getTimetable() != null) {
-        Set<String> seen = new HashSet<>();
-        filteredTimetable = latestSchedule.getTimetable().stream()
-        .filter(entry -> {
-            Object module = entry.get("module");
-            Object moduleName = entry.get("module_name");
-            String key = module != null ? module.toString() : (moduleName != null ? moduleName.toString() : "");
-            return moduleNames.contains(key);
-        })
-        
-            .filter(entry -> {
-                String key = entry.get("module_name") + "|" + entry.get("group_name") + "|" +
-                              entry.get("day") + "|" + entry.get("start_time") + "|" + entry.get("end_time") +
-                              "|" + entry.get("location");
-                return seen.add(key);
-            })
-            .collect(Collectors.toList());
-    } else {
+    UserTimetable view = userTimetableService.getLecturerTimetable(email);
+    if (view.getScheduleId() == null) {
         System.out.println("⚠️ No latest schedule found for lecturer.");
     }
 
-    // 🔍 Debug total events
-    List<Event> allEvents = eventRepository.findAll();
-    System.out.println("📦 Total events in DB: " + allEvents.size());
-
-    // ✅ Filter upcoming events
-    List<Event> events = allEvents.stream()
-        .filter(event -> {
-            LocalDate date = event.getEventDate();
-            return date != null && !date.isBefore(LocalDate.now());
-
-        })
-        .sorted(Comparator.comparing(Event::getEventDate))
-        .collect(Collectors.toList());
-
-    System.out.println("✅ Upcoming events returned: " + events.size());
+    return withMetadata(view, upcomingEventsCache.get());
+}
 
-    return Map.of(
-        "timetable", filteredTimetable,
-        "events", events,
-        "generatedAt", latestSchedule != null ? latestSchedule.getGeneratedAt().toString() : null
-    );
+// ✅ Response shape of the timetable pages (generatedAt may be null, so no Map.of)
+private static Map<String, Object> withMetadata(UserTimetable view, List<Event> events) {
+    Map<String, Object> result = new HashMap<>();
+    result.put("timetable", view.getTimetable());
+    result.put("events", events);
+    result.put("generatedAt", view.getGeneratedAt());
+    return result;
 }
 }
 
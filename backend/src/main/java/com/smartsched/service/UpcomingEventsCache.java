@@ -0,0 +1,81 @@
+package com.smartsched.service;
+
+import com.smartsched.model.Event;
+import com.smartsched.repository.EventRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Shared list of upcoming events for the timetable pages: one indexed range query per change (or per TTL / day)
+// instead of a findAll() per page view. Invalidated from Mongo save/delete events on the events collection.
+@Component
+public class UpcomingEventsCache extends AbstractMongoEventListener<Event> {
+
+    static final Sort ORDER = Sort.by("eventDate", "eventTime");
+
+    private final EventRepository eventRepository;
+    private final long ttlNanos;
+    private final int limit;
+
+    private record Snapshot(List<Event> events, LocalDate day, long loadedAt) {
+    }
+
+    // Replaced under the lock; invalidate() waits for a running load, so a load never outlives a change
+    private volatile Snapshot snapshot;
+
+    public UpcomingEventsCache(EventRepository eventRepository,
+                               @Value("${smartsched.cache.events.ttl-ms:60000}") long ttlMs,
+                               @Value("${smartsched.cache.events.limit:200}") int limit) {
+        this.eventRepository = eventRepository;
+        this.ttlNanos = ttlMs * 1_000_000;
+        this.limit = limit;
+    }
+
+    // ✅ Events from today on, by date and time; the returned list is shared and unmodifiable
+    public List<Event> get() {
+        Snapshot current = snapshot;
+        if (isFresh(current)) {
+            return current.events();
+        }
+        return reload();
+    }
+
+    // Concurrent misses wait for one query instead of each running their own
+    private synchronized List<Event> reload() {
+        Snapshot current = snapshot;
+        if (isFresh(current)) {
+            return current.events();
+        }
+        LocalDate today = LocalDate.now();
+        List<Event> events = List.copyOf(eventRepository.findByEventDateGreaterThanEqual(today, PageRequest.of(0, limit, ORDER)));
+        snapshot = new Snapshot(events, today, System.nanoTime());
+        return events;
+    }
+
+    private boolean isFresh(Snapshot current) {
+        return current != null
+                && current.day().equals(LocalDate.now())
+                && System.nanoTime() - current.loadedAt() < ttlNanos;
+    }
+
+    public synchronized void invalidate() {
+        snapshot = null;
+    }
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<Event> event) {
+        invalidate();
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<Event> event) {
+        invalidate();
+    }
+}
@@ -1,15 +1,19 @@
 package com.smartsched.service;
 
-import com.smartsched.model.AllClassAssignment;
 import com.smartsched.model.User;
 import com.smartsched.repository.AllClassAssignmentRepository;
 import com.smartsched.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class UserService {
@@ -21,7 +25,7 @@ public class UserService {
     private EmailService emailService;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
 
     @Autowired
 private AllClassAssignmentRepository classAssignmentRepo;
@@ -43,7 +47,7 @@ private AllClassAssignmentRepository classAssignmentRepo;
 
     // 👇 TEMP LOGGING TO SEE WHAT PASSWORD IS SAVED
     System.out.println("Original raw password: " + user.getPassword());
-    String encodedPassword = passwordEncoder.encode(user.getPassword());
+    String encodedPassword = passwordHashingService.encode(user.getPassword());
     System.out.println("Encoded password: " + encodedPassword);
 
     user.setPassword(encodedPassword);
@@ -67,7 +71,7 @@ private AllClassAssignmentRepository classAssignmentRepo;
 
     System.out.println("Encoded password stored: " + user.getPassword());
 
-    if (!passwordEncoder.matches(rawPassword, user.getPassword())) {
+    if (!passwordHashingService.matches(rawPassword, user.getPassword())) {
         System.out.println("Password mismatch");
         throw new RuntimeException("Invalid credentials");
     }
@@ -83,7 +87,7 @@ private AllClassAssignmentRepository classAssignmentRepo;
         if (user.isPresent()) {
             User existingUser = user.get();
 
-            String encodedPassword = passwordEncoder.encode(newPassword);
+            String encodedPassword = passwordHashingService.encode(newPassword);
             existingUser.setPassword(encodedPassword);
 
             userRepository.save(existingUser);
@@ -108,23 +112,35 @@ private AllClassAssignmentRepository classAssignmentRepo;
         return userRepository.save(user);
     }
 
-    // ✅ Get all users
-    public List<User> getAllUsersWithGroups() {
-    List<User> users = userRepository.findAll();
-
-    for (User user : users) {
-        List<AllClassAssignment> assignments = classAssignmentRepo.findByEmailMatch(user.getEmail());
-
-if (!assignments.isEmpty()) {
-    user.setGroupName(assignments.get(0).getGroupName()); // or combine multiple
-}
+    // ✅ Get all users, with group names joined from class assignments in one batch query
+    public List<User> getAllUsersWithGroups(Sort sort) {
+        return withGroups(userRepository.findAll(sort));
+    }
 
-    
+    // ✅ One page of users: a count, a page query and one assignment lookup, whatever the user count
+    public Page<User> getUsersWithGroups(Pageable pageable) {
+        Page<User> page = userRepository.findAll(pageable);
+        withGroups(page.getContent());
+        return page;
     }
 
-    return users;
-}
+    private List<User> withGroups(List<User> users) {
+        Set<String> emails = new HashSet<>();
+        for (User user : users) {
+            if (user.getEmail() != null) {
+                emails.add(user.getEmail());
+            }
+        }
 
+        Map<String, String> groupNames = classAssignmentRepo.findGroupNamesByEmails(emails);
+        for (User user : users) {
+            String groupName = groupNames.get(user.getEmail());
+            if (groupName != null) {
+                user.setGroupName(groupName);
+            }
+        }
+        return users;
+    }
 
     // ✅ Delete user
     public void deleteUser(String userId) {
@@ -148,7 +164,7 @@ if (!assignments.isEmpty()) {
             user.setPermissions(List.of("read"));
         }
 
-        user.setPassword(passwordEncoder.encode(user.getPassword()));
+        user.setPassword(passwordHashingService.encode(user.getPassword()));
 
         return userRepository.save(user);
     }
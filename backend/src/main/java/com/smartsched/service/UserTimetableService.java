@@ -0,0 +1,116 @@
+package com.smartsched.service;
+
+import com.smartsched.model.GeneratedSchedule;
+import com.smartsched.model.InstructorAssignment;
+import com.smartsched.model.ScheduleSession;
+import com.smartsched.model.StudentEnrollment;
+import com.smartsched.model.UserTimetable;
+import com.smartsched.repository.InstructorAssignmentRepository;
+import com.smartsched.repository.StudentEnrollmentRepository;
+import com.smartsched.repository.UserTimetableRepository;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Predicate;
+
+// Maintains user_timetables: rebuilt when a schedule is generated or an enrollment/assignment changes
+@Service
+public class UserTimetableService {
+
+    private final UserTimetableRepository userTimetableRepository;
+    private final LatestScheduleCache latestScheduleCache;
+    private final StudentEnrollmentRepository studentEnrollmentRepository;
+    private final InstructorAssignmentRepository instructorAssignmentRepository;
+
+    public UserTimetableService(UserTimetableRepository userTimetableRepository,
+                                LatestScheduleCache latestScheduleCache,
+                                StudentEnrollmentRepository studentEnrollmentRepository,
+                                InstructorAssignmentRepository instructorAssignmentRepository) {
+        this.userTimetableRepository = userTimetableRepository;
+        this.latestScheduleCache = latestScheduleCache;
+        this.studentEnrollmentRepository = studentEnrollmentRepository;
+        this.instructorAssignmentRepository = instructorAssignmentRepository;
+    }
+
+    // ✅ Point read; built on first access for users whose schedule predates the view
+    public UserTimetable getStudentTimetable(String email) {
+        return userTimetableRepository.findById(UserTimetable.key(UserTimetable.STUDENT, email))
+                .orElseGet(() -> refreshStudent(email));
+    }
+
+    public UserTimetable getLecturerTimetable(String email) {
+        return userTimetableRepository.findById(UserTimetable.key(UserTimetable.LECTURER, email))
+                .orElseGet(() -> refreshLecturer(email));
+    }
+
+    // ✅ Rebuild both views of a user after a new schedule; never fails the caller
+    public void refresh(String email) {
+        try {
+            refreshStudent(email);
+            refreshLecturer(email);
+        } catch (RuntimeException e) {
+            System.out.println("⚠️ Could not refresh timetable view for " + email + ": " + e.getMessage());
+        }
+    }
+
+    public UserTimetable refreshStudent(String email) {
+        StudentEnrollment student = studentEnrollmentRepository.findFirstByEmailInsensitive(email).orElse(null);
+
+        UserTimetable view = new UserTimetable(email, UserTimetable.STUDENT);
+        if (student != null && student.getCourseClasses() != null) {
+            Set<String> groupIds = new HashSet<>(student.getCourseClasses().values());
+            fill(view, latestScheduleCache.getForStudent(email, student.classGroupIds()),
+                    entry -> entry.getGroupId() != null && groupIds.contains(entry.getGroupId()));
+        }
+        return save(view);
+    }
+
+    public UserTimetable refreshLecturer(String email) {
+        InstructorAssignment instructor = instructorAssignmentRepository.findByEmail(email).orElse(null);
+
+        UserTimetable view = new UserTimetable(email, UserTimetable.LECTURER);
+        if (instructor != null && instructor.getModules() != null) {
+            Set<String> moduleNames = new HashSet<>(instructor.getModules());
+            fill(view, latestScheduleCache.get(email),
+                    entry -> entry.moduleKey() != null && moduleNames.contains(entry.moduleKey()));
+        }
+        return save(view);
+    }
+
+    // ✅ After a shared group schedule is stored: rebuild the views of every student with exactly those groups
+    public void refreshGroup(Collection<String> groupIds) {
+        String groupKey = GeneratedSchedule.groupKey(groupIds);
+        if (groupKey == null) {
+            return;
+        }
+        try {
+            for (StudentEnrollment student : studentEnrollmentRepository.findByClassGroupIds(groupIds)) {
+                if (student.getEmail() != null && groupKey.equals(GeneratedSchedule.groupKey(student.classGroupIds()))) {
+                    refreshStudent(student.getEmail());
+                }
+            }
+        } catch (RuntimeException e) {
+            System.out.println("⚠️ Could not refresh timetable views for " + groupKey + ": " + e.getMessage());
+        }
+    }
+
+    public void deleteStudent(String email) {
+        userTimetableRepository.deleteById(UserTimetable.key(UserTimetable.STUDENT, email));
+    }
+
+    private void fill(UserTimetable view, GeneratedSchedule latest, Predicate<ScheduleSession> belongs) {
+        if (latest == null || latest.getTimetable() == null) {
+            return;
+        }
+
+        view.setScheduleId(latest.getId());
+        view.setGeneratedAt(latest.getGeneratedAt() != null ? latest.getGeneratedAt().toString() : null);
+        view.setTimetable(ScheduleSession.distinctCells(latest.getTimetable(), belongs));
+    }
+
+    private UserTimetable save(UserTimetable view) {
+        view.setRefreshedAt(LocalDateTime.now());
+        return userTimetableRepository.save(view);
+    }
+}
@@ -1,47 +1,226 @@
 package com.smartsched.service.ai;
 
+import com.smartsched.model.GeneratedSchedule;
+import com.smartsched.service.LatestScheduleCache;
+import com.smartsched.service.UserTimetableService;
+import com.smartsched.service.scheduler.GenerationListener;
+import com.smartsched.service.scheduler.SchedulingEngine;
+import com.smartsched.utils.LogRingBuffer;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Service
 public class AISchedulingService {
 
-    private static final String PYTHON_VENV = "venv/bin/python3";
-    private static final String SCRIPT_PATH = "src/main/resources/ai/scheduler.py";
+    private static final long CANCEL_POLL_MS = 500;
+
+    private final SchedulingEngine schedulingEngine;
+    private final UserTimetableService userTimetableService;
+    private final LatestScheduleCache latestScheduleCache;
+    private final PythonWorkerPool pythonWorkerPool;
+    private final String engine;
+    private final int maxLogLines;
+    private final long requestTimeoutMs;
+
+    public AISchedulingService(SchedulingEngine schedulingEngine,
+                               UserTimetableService userTimetableService,
+                               LatestScheduleCache latestScheduleCache,
+                               PythonWorkerPool pythonWorkerPool,
+                               @Value("${smartsched.scheduler.engine:java}") String engine,
+                               @Value("${smartsched.jobs.max-log-lines:2000}") int maxLogLines,
+                               @Value("${smartsched.python.request-timeout-ms:120000}") long requestTimeoutMs) {
+        this.schedulingEngine = schedulingEngine;
+        this.userTimetableService = userTimetableService;
+        this.latestScheduleCache = latestScheduleCache;
+        this.pythonWorkerPool = pythonWorkerPool;
+        this.engine = engine;
+        this.maxLogLines = maxLogLines;
+        this.requestTimeoutMs = requestTimeoutMs;
+    }
+
+    public boolean usesPythonEngine() {
+        return "python".equalsIgnoreCase(engine);
+    }
 
     public String generateSchedule(String email, String role) {
-        try {
-            // 🔹 Construct the command with arguments
-            ProcessBuilder pb = new ProcessBuilder(
-                    PYTHON_VENV,
-                    SCRIPT_PATH,
-                    "--email=" + email,
-                    "--role=" + role);
-
-            pb.redirectErrorStream(true); // Merge stdout and stderr
-
-            Process process = pb.start();
-            BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
-            StringBuilder output = new StringBuilder();
-            String line;
-
-            while ((line = reader.readLine()) != null) {
-                System.out.println("🔹 Python Output Line: " + line);
-                output.append(line).append("\n");
+        if (!usesPythonEngine()) {
+            GeneratedSchedule schedule = schedulingEngine.generate(email, role);
+            if (schedule != null) {
+                refreshViews(email, schedule);
             }
+            return schedule != null
+                    ? "✅ Best schedule saved for " + email + " | ID: " + schedule.getId()
+                    : "❌ No valid sessions found. Skipping.";
+        }
 
-            int exitCode = process.waitFor();
-            System.out.println("🔚 Python script exited with code: " + exitCode);
-
-            String result = output.toString().trim();
+        // The request thread waits at most request-timeout-ms; giving up cancels the job, which kills its worker
+        CompletableFuture<JsonNode> job = null;
+        try {
+            job = pythonWorkerPool.submit(List.of(email), role);
+            JsonNode response = job.get(requestTimeoutMs, TimeUnit.MILLISECONDS);
+            String result = pythonResult(List.of(email), response, GenerationListener.NONE).trim();
             System.out.println("✅ Final Output Sent to API: " + result);
 
             return result.isEmpty() ? "{\"error\": \"Python script returned no output.\"}" : result;
 
+        } catch (TimeoutException e) {
+            job.cancel(true);
+            System.out.println("❌ Scheduler run for " + email + " timed out after " + requestTimeoutMs + " ms");
+            return "{\"error\": \"Scheduler timed out after " + requestTimeoutMs + " ms\"}";
+        } catch (InterruptedException e) {
+            job.cancel(true);
+            Thread.currentThread().interrupt();
+            return "{\"error\": \"Scheduler run interrupted\"}";
         } catch (Exception e) {
             e.printStackTrace();
-            return "{\"error\": \"Failed to run scheduler: " + e.getMessage() + "\"}";
+            Throwable cause = (e instanceof CompletionException || e instanceof ExecutionException) && e.getCause() != null
+                    ? e.getCause() : e;
+            return "{\"error\": \"Failed to run scheduler: " + cause.getMessage() + "\"}";
+        }
+    }
+
+    // ✅ Generate timetables for many users, returns the run log
+    public String generateBulk(List<String> emails, String role) {
+        return generateBulk(emails, role, GenerationListener.NONE);
+    }
+
+    // ✅ Same, reporting each finished user to the listener (GA statistics come from the Java engine only)
+    public String generateBulk(List<String> emails, String role, GenerationListener listener) {
+        if (!usesPythonEngine()) {
+            List<GeneratedSchedule> saved = schedulingEngine.generateAll(emails, role, new GenerationListener() {
+                @Override
+                public void generationCompleted(String email, int generation, int bestFitness, double meanFitness, long elapsedMillis) {
+                    listener.generationCompleted(email, generation, bestFitness, meanFitness, elapsedMillis);
+                }
+
+                @Override
+                public void stoppedEarly(String email, int generation, int bestFitness, long elapsedMillis) {
+                    listener.stoppedEarly(email, generation, bestFitness, elapsedMillis);
+                }
+
+                // A shared schedule reaches every member of the group; its views are rebuilt once
+                private final Set<String> refreshedSchedules = ConcurrentHashMap.newKeySet();
+
+                @Override
+                public void userFinished(String email, GeneratedSchedule schedule) {
+                    if (schedule != null && (schedule.getGroupKey() == null || refreshedSchedules.add(schedule.getId()))) {
+                        refreshViews(email, schedule);
+                    }
+                    listener.userFinished(email, schedule);
+                }
+            });
+            LogRingBuffer log = new LogRingBuffer(maxLogLines);
+            Set<String> generated = new HashSet<>();
+            for (GeneratedSchedule schedule : saved) {
+                if (schedule.getGroupKey() != null) {
+                    generated.addAll(schedule.getMemberEmails());
+                } else {
+                    generated.add(schedule.getUserEmail());
+                }
+                log.append("✅ Best schedule saved for " + schedule.owner()
+                        + " | ID: " + schedule.getId()
+                        + " | Fitness: " + schedule.getFitnessScore());
+            }
+            for (String email : emails) {
+                if (!generated.contains(email)) {
+                    log.append("⚠️ Skipped " + email + (listener.isCancelled() ? ": cancelled" : ": no valid role or sessions"));
+                }
+            }
+            return log.toString();
         }
+
+        // One job per user: the worker pool runs them side by side and progress is reported as each finishes
+        List<CompletableFuture<JsonNode>> submitted = new ArrayList<>(emails.size());
+        List<CompletableFuture<String>> runs = new ArrayList<>(emails.size());
+        for (String email : emails) {
+            CompletableFuture<JsonNode> job;
+            try {
+                job = listener.isCancelled()
+                        ? CompletableFuture.failedFuture(new CancellationException("Generation cancelled"))
+                        : pythonWorkerPool.submit(List.of(email), role);
+            } catch (IllegalStateException e) {
+                job = CompletableFuture.failedFuture(e); // queue stayed full; the user is reported as failed
+            }
+            submitted.add(job);
+            runs.add(job
+                    .thenApply(response -> pythonResult(List.of(email), response, listener))
+                    .exceptionally(e -> {
+                        listener.userFinished(email, null);
+                        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                        return cause instanceof CancellationException
+                                ? "⚠️ Cancelled " + email + "\n"
+                                : "❌ Scheduling failed for " + email + ": " + cause.getMessage() + "\n";
+                    }));
+        }
+
+        // Cancelling a submitted job kills its worker's process tree (queued ones are simply dropped)
+        CompletableFuture<Void> all = CompletableFuture.allOf(runs.toArray(new CompletableFuture[0]));
+        while (!all.isDone()) {
+            try {
+                all.get(CANCEL_POLL_MS, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                if (listener.isCancelled()) {
+                    submitted.forEach(job -> job.cancel(true));
+                }
+            } catch (InterruptedException e) {
+                submitted.forEach(job -> job.cancel(true));
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Generation interrupted");
+            } catch (ExecutionException e) {
+                break; // not reached: every run recovers in exceptionally()
+            }
+        }
+
+        LogRingBuffer log = new LogRingBuffer(maxLogLines);
+        for (CompletableFuture<String> run : runs) {
+            log.append(run.join());
+        }
+        return log.toString();
+    }
+
+    // Worker log of one job; each listed user is reported, and written schedules reach the cache and views
+    private String pythonResult(List<String> emails, JsonNode response, GenerationListener listener) {
+        StringBuilder log = new StringBuilder(response.path("log").asText(""));
+        if (!response.path("ok").asBoolean()) {
+            log.append("❌ AI scheduler failed: ").append(response.path("error").asText()).append("\n");
+            emails.forEach(email -> listener.userFinished(email, null));
+            return log.toString();
+        }
+        for (JsonNode result : response.path("results")) {
+            String email = result.path("email").asText();
+            GeneratedSchedule schedule = null;
+            if (result.hasNonNull("scheduleId")) {
+                pythonScheduleWritten(email);
+                schedule = latestScheduleCache.get(email);
+            }
+            listener.userFinished(email, schedule);
+        }
+        return log.toString();
+    }
+
+    private void refreshViews(String email, GeneratedSchedule schedule) {
+        if (schedule.getGroupKey() != null) {
+            userTimetableService.refreshGroup(GeneratedSchedule.groupIdsOf(schedule.getGroupKey()));
+        } else {
+            userTimetableService.refresh(email);
+        }
+    }
+
+    // scheduler.py inserts into generated_schedules directly, so no Mongo save event reaches the cache
+    private void pythonScheduleWritten(String email) {
+        latestScheduleCache.invalidate(email);
+        userTimetableService.refresh(email);
     }
 }
@@ -0,0 +1,133 @@
+package com.smartsched.service.ai;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.smartsched.utils.LogRingBuffer;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+// One scheduler_worker.py process: requests and responses are single JSON lines over stdin/stdout.
+// Responses complete the future of their request id; Process.onExit() fails whatever is still pending,
+// so a crash is noticed at once instead of on the next read.
+final class PythonWorker {
+
+    private static final int STDERR_TAIL_LINES = 50;
+
+    private final String name;
+    private final Process process;
+    private final BufferedWriter stdin;
+    private final ObjectMapper objectMapper;
+    private final CompletableFuture<JsonNode> ready = new CompletableFuture<>();
+    private final Map<String, CompletableFuture<JsonNode>> pending = new ConcurrentHashMap<>();
+    private final LogRingBuffer stderrTail = new LogRingBuffer(STDERR_TAIL_LINES);
+
+    private PythonWorker(String name, Process process, ObjectMapper objectMapper) {
+        this.name = name;
+        this.process = process;
+        this.objectMapper = objectMapper;
+        this.stdin = new BufferedWriter(new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8));
+    }
+
+    // ✅ Starts the process; ready() completes with its first line
+    static PythonWorker start(String name, List<String> command, ObjectMapper objectMapper) throws IOException {
+        Process process = new ProcessBuilder(command).start();
+        PythonWorker worker = new PythonWorker(name, process, objectMapper);
+        worker.pump(process.getInputStream(), "stdout", worker::accept);
+        worker.pump(process.getErrorStream(), "stderr", line -> {
+            worker.stderrTail.append(line);
+            System.out.println("🔹 " + name + ": " + line);
+        });
+        process.onExit().thenRun(worker::exited);
+        return worker;
+    }
+
+    CompletableFuture<JsonNode> ready() {
+        return ready;
+    }
+
+    // ✅ Sends one request; the future completes with the response carrying the same id, or fails when the process exits
+    CompletableFuture<JsonNode> send(ObjectNode request) {
+        String id = UUID.randomUUID().toString();
+        request.put("id", id);
+        CompletableFuture<JsonNode> response = new CompletableFuture<>();
+        pending.put(id, response);
+        response.whenComplete((result, error) -> pending.remove(id));
+        try {
+            synchronized (stdin) {
+                stdin.write(objectMapper.writeValueAsString(request));
+                stdin.newLine();
+                stdin.flush();
+            }
+        } catch (IOException e) {
+            response.completeExceptionally(new IOException(name + " is not accepting requests: " + e.getMessage(), e));
+        }
+        if (!process.isAlive()) {
+            exited(); // onExit may already have run before this request was registered
+        }
+        return response;
+    }
+
+    long pid() {
+        return process.pid();
+    }
+
+    // Children first, so nothing the script spawned outlives it
+    void kill() {
+        process.descendants().forEach(ProcessHandle::destroyForcibly);
+        process.destroyForcibly();
+    }
+
+    private void exited() {
+        String reason = name + " exited" + (process.isAlive() ? "" : " with code " + process.exitValue());
+        String tail = stderrTail.toString();
+        IOException error = new IOException(tail.isEmpty() ? reason : reason + "; last output:\n" + tail);
+        ready.completeExceptionally(error);
+        pending.values().forEach(future -> future.completeExceptionally(error));
+    }
+
+    private void accept(String line) {
+        JsonNode message;
+        try {
+            message = objectMapper.readTree(line);
+        } catch (IOException e) {
+            System.out.println("⚠️ " + name + " wrote a non-JSON line: " + line);
+            return;
+        }
+        if ("ready".equals(message.path("type").asText())) {
+            ready.complete(message);
+            return;
+        }
+        CompletableFuture<JsonNode> response = pending.get(message.path("id").asText(""));
+        if (response != null) {
+            response.complete(message);
+        }
+    }
+
+    private void pump(InputStream stream, String label, Consumer<String> consumer) {
+        Thread thread = new Thread(() -> {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    consumer.accept(line);
+                }
+            } catch (IOException e) {
+                // stream closed by kill()
+            }
+        }, name + "-" + label);
+        thread.setDaemon(true);
+        thread.start();
+    }
+}
@@ -0,0 +1,207 @@
+package com.smartsched.service.ai;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// Long-lived scheduler_worker.py processes for the Python engine (smartsched.scheduler.engine=python).
+// Each worker slot is one pool thread owning one process: it takes queued jobs, pings the process while idle,
+// and replaces it after a crash or a job timeout. Emails travel as JSON over stdin instead of argv.
+@Component
+public class PythonWorkerPool {
+
+    private record Job(ObjectNode request, CompletableFuture<JsonNode> result) {
+    }
+
+    private final ObjectMapper objectMapper;
+    private final ThreadPoolExecutor executor;
+    private final boolean enabled;
+    private final int workers;
+    private final List<String> command;
+    private final long jobTimeoutMs;
+    private final long queueTimeoutMs;
+    private final long startTimeoutMs;
+    private final long healthIntervalMs;
+    private final long restartDelayMs;
+    private final BlockingQueue<Job> queue;
+
+    public PythonWorkerPool(ObjectMapper objectMapper,
+                            @Qualifier("pythonWorkerExecutor") ThreadPoolExecutor executor,
+                            @Value("${smartsched.scheduler.engine:java}") String engine,
+                            @Value("${smartsched.python.workers:2}") int workers,
+                            @Value("${smartsched.python.executable:venv/bin/python3}") String executable,
+                            @Value("${smartsched.python.worker-script:src/main/resources/ai/scheduler_worker.py}") String script,
+                            @Value("${smartsched.python.queue-capacity:100}") int queueCapacity,
+                            @Value("${smartsched.python.job-timeout-ms:600000}") long jobTimeoutMs,
+                            @Value("${smartsched.python.queue-timeout-ms:30000}") long queueTimeoutMs,
+                            @Value("${smartsched.python.start-timeout-ms:30000}") long startTimeoutMs,
+                            @Value("${smartsched.python.health-interval-ms:30000}") long healthIntervalMs,
+                            @Value("${smartsched.python.restart-delay-ms:5000}") long restartDelayMs) {
+        this.objectMapper = objectMapper;
+        this.executor = executor;
+        this.enabled = "python".equalsIgnoreCase(engine);
+        this.workers = workers;
+        this.command = List.of(executable, "-u", script);
+        this.jobTimeoutMs = jobTimeoutMs;
+        this.queueTimeoutMs = queueTimeoutMs;
+        this.startTimeoutMs = startTimeoutMs;
+        this.healthIntervalMs = healthIntervalMs;
+        this.restartDelayMs = restartDelayMs;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    // ✅ Workers are started at boot, only when the Python engine is selected
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        for (int slot = 1; slot <= workers; slot++) {
+            int id = slot;
+            executor.execute(() -> runSlot("scheduler-worker-" + id));
+        }
+        System.out.println("🚀 Starting " + workers + " Python scheduler worker(s)");
+    }
+
+    // ✅ Queues one generation request; completes with the worker's response ({"ok", "results", "log"}).
+    // Waits up to queue-timeout-ms for room, then fails with IllegalStateException.
+    public CompletableFuture<JsonNode> submit(List<String> emails, String role) {
+        if (!enabled) {
+            throw new IllegalStateException("Python scheduler workers are not enabled");
+        }
+        ObjectNode request = objectMapper.createObjectNode().put("type", "generate");
+        ArrayNode list = request.putArray("emails");
+        emails.forEach(list::add);
+        request.put("role", role == null ? "" : role);
+
+        Job job = new Job(request, new CompletableFuture<>());
+        try {
+            if (!queue.offer(job, queueTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("Scheduler workers are busy, try again later");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while queueing scheduler job");
+        }
+        return job.result();
+    }
+
+    // One slot: (re)start the process, then alternate between jobs and idle health checks until shutdown
+    private void runSlot(String name) {
+        PythonWorker worker = null;
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                if (worker == null) {
+                    worker = startOrNull(name);
+                    if (worker == null) {
+                        Thread.sleep(restartDelayMs);
+                        continue;
+                    }
+                }
+
+                Job job = queue.poll(healthIntervalMs, TimeUnit.MILLISECONDS);
+                boolean keep = job != null ? run(name, worker, job) : healthy(name, worker);
+                if (!keep) {
+                    worker.kill();
+                    worker = null;
+                }
+            }
+        } catch (InterruptedException e) {
+            // shutting down: nothing queued will be picked up any more
+            Job left;
+            while ((left = queue.poll()) != null) {
+                left.result().completeExceptionally(new IllegalStateException("Scheduler workers shut down"));
+            }
+        } finally {
+            if (worker != null) {
+                worker.kill();
+            }
+        }
+    }
+
+    // False when the worker has to be replaced (it crashed, overran the job timeout or the job was cancelled)
+    private boolean run(String name, PythonWorker worker, Job job) throws InterruptedException {
+        if (job.result().isDone()) {
+            return true; // cancelled while queued
+        }
+        CompletableFuture<JsonNode> response = worker.send(job.request());
+        // Cancelling the caller's future kills the process tree; its exit then fails `response`
+        job.result().whenComplete((result, error) -> {
+            if (job.result().isCancelled()) {
+                worker.kill();
+            }
+        });
+        try {
+            job.result().complete(await(response, jobTimeoutMs));
+            return true;
+        } catch (TimeoutException e) {
+            System.out.println("❌ " + name + " timed out after " + jobTimeoutMs + " ms, killing pid " + worker.pid());
+            job.result().completeExceptionally(new IllegalStateException("Scheduler job timed out after " + jobTimeoutMs + " ms"));
+            return false;
+        } catch (IOException e) {
+            if (job.result().isCancelled()) {
+                System.out.println("⚠️ " + name + " job cancelled, restarting the worker");
+            } else {
+                System.out.println("❌ " + e.getMessage());
+                job.result().completeExceptionally(new IllegalStateException("Scheduler worker failed: " + e.getMessage()));
+            }
+            return false;
+        } catch (InterruptedException e) {
+            job.result().completeExceptionally(new IllegalStateException("Scheduler workers shut down"));
+            throw e;
+        }
+    }
+
+    private boolean healthy(String name, PythonWorker worker) throws InterruptedException {
+        try {
+            if (await(worker.send(objectMapper.createObjectNode().put("type", "ping")), startTimeoutMs).path("ok").asBoolean()) {
+                return true;
+            }
+        } catch (IOException | TimeoutException e) {
+            // fall through
+        }
+        System.out.println("⚠️ " + name + " failed its health check, restarting");
+        return false;
+    }
+
+    private PythonWorker startOrNull(String name) throws InterruptedException {
+        PythonWorker worker = null;
+        try {
+            worker = PythonWorker.start(name, command, objectMapper);
+            await(worker.ready(), startTimeoutMs);
+            System.out.println("✅ " + name + " ready (pid " + worker.pid() + ")");
+            return worker;
+        } catch (IOException | TimeoutException e) {
+            System.out.println("❌ Could not start " + name + ": " + e.getMessage());
+            if (worker != null) {
+                worker.kill();
+            }
+            return null;
+        }
+    }
+
+    private static JsonNode await(CompletableFuture<JsonNode> future, long timeoutMs)
+            throws IOException, TimeoutException, InterruptedException {
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof IOException io ? io : new IOException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.smartsched.service.scheduler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+// Constructive scheduler: DSatur colouring of the conflict graph. Sessions sharing an instructor, group or room
+// on the same day are adjacent and the colours are the start hours of that day (each session keeps its day, as
+// in the GA). The next session placed is the one with the most hours already taken by its placed neighbours
+// (saturation), then the one with the most unplaced neighbours; it gets the hour with the lowest penalty.
+public class DSaturScheduler {
+
+    private static final int INSTRUCTOR = 0;
+    private static final int GROUP = 1;
+    private static final int ROOM = 2;
+
+    private final int passes;
+
+    public DSaturScheduler(int passes) {
+        this.passes = Math.max(1, passes);
+    }
+
+    public ScheduleResult run(SchedulingProblem problem, RandomGenerator random) {
+        return run(problem, random, EvolutionObserver.NONE);
+    }
+
+    // ✅ Up to `passes` colourings with different tie-breaks, stopping at the first conflict-free one
+    public ScheduleResult run(SchedulingProblem problem, RandomGenerator random, EvolutionObserver observer) {
+        long start = System.nanoTime();
+        int[][] graph = conflictGraph(problem);
+
+        List<Individual> results = new ArrayList<>(passes);
+        for (int pass = 0; pass < passes && (results.isEmpty() || results.get(0).fitness(problem) > 0); pass++) {
+            TimetableState state = colour(problem, graph, random);
+            results.add(new Individual(state.hours(), state.penalty()));
+            GeneticScheduler.rank(problem, results);
+        }
+        EvolutionObserver.report(observer, problem, results, 0, start);
+
+        long elapsed = (System.nanoTime() - start) / 1_000_000;
+        return new ScheduleResult(results.get(0), results, 0, elapsed);
+    }
+
+    // ✅ One DSatur pass; `random` only breaks ties, so seeds for the GA differ while staying good
+    public static TimetableState colour(SchedulingProblem problem, RandomGenerator random) {
+        return colour(problem, conflictGraph(problem), random);
+    }
+
+    static TimetableState colour(SchedulingProblem problem, int[][] graph, RandomGenerator random) {
+        int n = problem.size();
+        int[] unplacedNeighbours = new int[n];
+        for (int i = 0; i < n; i++) {
+            unplacedNeighbours[i] = graph[i].length;
+        }
+
+        TimetableState state = new TimetableState(problem);
+        for (int placed = 0; placed < n; placed++) {
+            int next = -1;
+            int bestSaturation = -1;
+            int bestDegree = -1;
+            int ties = 0;
+            for (int i = 0; i < n; i++) {
+                if (state.hour(i) != TimetableState.UNPLACED) {
+                    continue;
+                }
+                // Hours of the day already taken by a placed neighbour = distinct colours around the session
+                int saturation = Long.bitCount(state.instructorBusyHours(i) | state.groupBusyHours(i) | state.roomBusyHours(i));
+                if (saturation > bestSaturation || (saturation == bestSaturation && unplacedNeighbours[i] > bestDegree)) {
+                    next = i;
+                    bestSaturation = saturation;
+                    bestDegree = unplacedNeighbours[i];
+                    ties = 1;
+                } else if (saturation == bestSaturation && unplacedNeighbours[i] == bestDegree && random.nextInt(++ties) == 0) {
+                    next = i;
+                }
+            }
+
+            state.place(next, cheapestHour(state, next, random));
+            for (int neighbour : graph[next]) {
+                unplacedNeighbours[neighbour]--;
+            }
+        }
+        return state;
+    }
+
+    // A taken hour costs at least a clash (10), a free one at most an overlap (5), so free hours always win
+    private static int cheapestHour(TimetableState state, int session, RandomGenerator random) {
+        int bestHour = 0;
+        int bestDelta = Integer.MAX_VALUE;
+        int ties = 0;
+        for (int hour = 0; hour < SchedulingProblem.START_HOURS; hour++) {
+            int delta = state.moveDelta(session, hour);
+            if (delta < bestDelta) {
+                bestDelta = delta;
+                bestHour = hour;
+                ties = 1;
+            } else if (delta == bestDelta && random.nextInt(++ties) == 0) {
+                bestHour = hour;
+            }
+        }
+        return bestHour;
+    }
+
+    // ✅ Adjacency lists: sessions on the same day sharing an instructor, group or room (no duplicates)
+    static int[][] conflictGraph(SchedulingProblem problem) {
+        int n = problem.size();
+        Map<Long, List<Integer>> sharing = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            for (long key : keys(problem, i)) {
+                sharing.computeIfAbsent(key, k -> new ArrayList<>()).add(i);
+            }
+        }
+
+        int[][] graph = new int[n][];
+        int[] seenBy = new int[n];
+        Arrays.fill(seenBy, -1);
+        for (int i = 0; i < n; i++) {
+            seenBy[i] = i;
+            List<Integer> neighbours = new ArrayList<>();
+            for (long key : keys(problem, i)) {
+                for (int j : sharing.get(key)) {
+                    if (seenBy[j] != i) {
+                        seenBy[j] = i;
+                        neighbours.add(j);
+                    }
+                }
+            }
+            graph[i] = neighbours.stream().mapToInt(Integer::intValue).toArray();
+        }
+        return graph;
+    }
+
+    private static long[] keys(SchedulingProblem problem, int session) {
+        int day = problem.day(session);
+        return new long[]{
+                key(day, INSTRUCTOR, problem.instructor(session)),
+                key(day, GROUP, problem.group(session)),
+                key(day, ROOM, problem.room(session))};
+    }
+
+    private static long key(int day, int kind, int resource) {
+        return ((long) day << 34) | ((long) kind << 32) | resource;
+    }
+}
@@ -0,0 +1,123 @@
+package com.smartsched.service.scheduler;
+
+import com.smartsched.model.Event;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.time.format.TextStyle;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Attaches an upcoming event on the same weekday within ±1h of a session (fetch_event_for_session).
+// Built once per generation run: events are bucketed by weekday and sorted by time, so each session
+// costs a binary search instead of a scan over every event.
+public class EventMatcher {
+
+    private static final int WINDOW_SECONDS = 3600;
+
+    private static final Map<String, Integer> WEEKDAYS = new HashMap<>();
+
+    static {
+        for (DayOfWeek day : DayOfWeek.values()) {
+            WEEKDAYS.put(day.getDisplayName(TextStyle.FULL, Locale.ENGLISH).toLowerCase(Locale.ROOT), day.ordinal());
+        }
+    }
+
+    // Per weekday: second of day ascending (earliest date first within a second), with the session summary alongside
+    private final int[][] seconds = new int[7][];
+    private final List<List<Map<String, Object>>> summaries = new ArrayList<>(7);
+
+    public EventMatcher(List<Event> upcomingEvents) {
+        List<List<Event>> buckets = new ArrayList<>(7);
+        for (int d = 0; d < 7; d++) {
+            buckets.add(new ArrayList<>());
+        }
+        for (Event event : upcomingEvents) {
+            if (event.getEventDate() != null && event.getEventTime() != null) {
+                buckets.get(event.getEventDate().getDayOfWeek().ordinal()).add(event);
+            }
+        }
+
+        Comparator<Event> order = Comparator.comparing(Event::getEventTime).thenComparing(Event::getEventDate);
+        for (int d = 0; d < 7; d++) {
+            List<Event> bucket = buckets.get(d);
+            bucket.sort(order);
+            seconds[d] = new int[bucket.size()];
+            List<Map<String, Object>> bucketSummaries = new ArrayList<>(bucket.size());
+            for (int i = 0; i < bucket.size(); i++) {
+                seconds[d][i] = bucket.get(i).getEventTime().toSecondOfDay();
+                bucketSummaries.add(toSessionEvent(bucket.get(i)));
+            }
+            summaries.add(bucketSummaries);
+        }
+    }
+
+    // ✅ Event closest to the session start within the window (the earlier one on a tie), or null.
+    // The returned map is shared by every session it is attached to and is read-only.
+    public Map<String, Object> match(String day, String startTime) {
+        LocalTime start = parseTime(startTime);
+        Integer weekday = day != null ? WEEKDAYS.get(day.trim().toLowerCase(Locale.ROOT)) : null;
+        if (weekday == null || start == null) {
+            return null;
+        }
+
+        int[] times = seconds[weekday];
+        int target = start.toSecondOfDay();
+        int after = firstAtOrAbove(times, target);
+        int before = after > 0 ? firstAtOrAbove(times, times[after - 1]) : -1;
+
+        int best = -1;
+        if (before >= 0 && target - times[before] <= WINDOW_SECONDS) {
+            best = before;
+        }
+        if (after < times.length && times[after] - target <= WINDOW_SECONDS
+                && (best < 0 || times[after] - target < target - times[best])) {
+            best = after;
+        }
+        return best >= 0 ? summaries.get(weekday).get(best) : null;
+    }
+
+    // Lower bound: first index whose time is >= value (times.length when none)
+    private static int firstAtOrAbove(int[] times, int value) {
+        int low = 0;
+        int high = times.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (times[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    static Map<String, Object> toSessionEvent(Event event) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("eventName", event.getEventName());
+        summary.put("eventDate", event.getEventDate());
+        summary.put("eventTime", event.getEventTime());
+        summary.put("eventMode", event.getEventMode());
+        summary.put("location", event.getLocation());
+        summary.put("description", event.getDescription());
+        return Collections.unmodifiableMap(summary);
+    }
+
+    static LocalTime parseTime(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            String[] parts = value.trim().split(":");
+            return LocalTime.of(Integer.parseInt(parts[0]), parts.length > 1 ? Integer.parseInt(parts[1]) : 0);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.smartsched.service.scheduler;
+
+import java.util.List;
+
+// Receives the population statistics of an optimizer run as it evolves (generation 0 = initial population)
+@FunctionalInterface
+public interface EvolutionObserver {
+
+    EvolutionObserver NONE = (generation, bestFitness, meanFitness, elapsedMillis) -> { };
+
+    void generation(int generation, int bestFitness, double meanFitness, long elapsedMillis);
+
+    // ✅ Best and mean fitness of a ranked population
+    static void report(EvolutionObserver observer, SchedulingProblem problem, List<Individual> ranked,
+                       int generation, long startNanos) {
+        long total = 0;
+        for (Individual individual : ranked) {
+            total += individual.fitness(problem);
+        }
+        observer.generation(generation, ranked.get(0).fitness(problem), (double) total / ranked.size(),
+                (System.nanoTime() - startNanos) / 1_000_000);
+    }
+}
@@ -0,0 +1,16 @@
+package com.smartsched.service.scheduler;
+
+// Same penalty model as calculate_fitness in scheduler.py (lower is better, 0 = conflict free):
+// per slot, +5 for every session beyond the first and +10 for every repeated instructor, group or room
+public final class FitnessFunction {
+
+    public static final int CLASH_PENALTY = 10;
+    public static final int OVERLAP_PENALTY = 5;
+
+    private FitnessFunction() {
+    }
+
+    public static int calculate(SchedulingProblem problem, int[] hours) {
+        return TimetableState.of(problem, hours).penalty();
+    }
+}
@@ -0,0 +1,28 @@
+package com.smartsched.service.scheduler;
+
+import com.smartsched.model.GeneratedSchedule;
+
+// Progress callbacks of a bulk run; called from scheduler pool workers, so implementations must be thread-safe
+public interface GenerationListener {
+
+    GenerationListener NONE = new GenerationListener() {
+    };
+
+    // Statistics of the GA population after a generation (after every epoch in island mode);
+    // owner is the user's email, or the group key of a run shared by a set of class groups
+    default void generationCompleted(String owner, int generation, int bestFitness, double meanFitness, long elapsedMillis) {
+    }
+
+    // A conflict-free timetable was found before the generation limit
+    default void stoppedEarly(String owner, int generation, int bestFitness, long elapsedMillis) {
+    }
+
+    // schedule is null when the user was skipped (invalid role, no sessions, a failed or cancelled run)
+    default void userFinished(String email, GeneratedSchedule schedule) {
+    }
+
+    // Polled between generations; once true, runs in progress stop and the remaining users are skipped
+    default boolean isCancelled() {
+        return false;
+    }
+}
@@ -0,0 +1,196 @@
+package com.smartsched.service.scheduler;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+// Genetic algorithm from scheduler.py: each session keeps its day, the GA picks its start hour
+public class GeneticScheduler {
+
+    public static final int ELITE_COUNT = 2;
+    public static final int TOURNAMENT_SIZE = 3;
+
+    private static final long ALL_HOURS = (1L << SchedulingProblem.START_HOURS) - 1;
+
+    private final int populationSize;
+    private final int generations;
+    private final double mutationRate;
+    private final int seeds;
+
+    public GeneticScheduler(int populationSize, int generations, double mutationRate) {
+        this(populationSize, generations, mutationRate, 0);
+    }
+
+    // `seeds` individuals of the initial population come from DSatur instead of random placement
+    public GeneticScheduler(int populationSize, int generations, double mutationRate, int seeds) {
+        if (populationSize < 2) {
+            throw new IllegalArgumentException("Population size must be at least 2");
+        }
+        this.populationSize = populationSize;
+        this.generations = generations;
+        this.mutationRate = mutationRate;
+        this.seeds = Math.max(0, Math.min(seeds, populationSize));
+    }
+
+    public ScheduleResult run(SchedulingProblem problem, RandomGenerator random) {
+        return run(problem, random, EvolutionObserver.NONE);
+    }
+
+    public ScheduleResult run(SchedulingProblem problem, RandomGenerator random, EvolutionObserver observer) {
+        long start = System.nanoTime();
+
+        List<Individual> population = initialPopulation(problem, random);
+        EvolutionObserver.report(observer, problem, population, 0, start);
+        int generation = 0;
+        while (generation < generations && population.get(0).fitness(problem) > 0) {
+            population = nextGeneration(problem, population, random);
+            generation++;
+            EvolutionObserver.report(observer, problem, population, generation, start);
+        }
+
+        long elapsed = (System.nanoTime() - start) / 1_000_000;
+        return new ScheduleResult(population.get(0), population, generation, elapsed);
+    }
+
+    public int getPopulationSize() { return populationSize; }
+    public int getGenerations() { return generations; }
+
+    // ✅ Ranked population (best first): DSatur seeds, the rest random
+    public List<Individual> initialPopulation(SchedulingProblem problem, RandomGenerator random) {
+        List<Individual> population = new ArrayList<>(populationSize);
+        int[][] graph = seeds > 0 ? DSaturScheduler.conflictGraph(problem) : null;
+        for (int i = 0; i < populationSize; i++) {
+            TimetableState state = i < seeds
+                    ? DSaturScheduler.colour(problem, graph, random)
+                    : randomAssignment(problem, random);
+            population.add(new Individual(state.hours(), state.penalty()));
+        }
+        rank(problem, population);
+        return population;
+    }
+
+    // ✅ One generation: keep the elite, breed the rest; expects and returns a ranked population
+    public List<Individual> nextGeneration(SchedulingProblem problem, List<Individual> ranked, RandomGenerator random) {
+        List<Individual> next = new ArrayList<>(ranked.size());
+        for (int e = 0; e < Math.min(ELITE_COUNT, ranked.size()); e++) {
+            next.add(ranked.get(e));
+        }
+
+        while (next.size() < ranked.size()) {
+            Individual first = tournament(problem, ranked, random);
+            Individual second = tournament(problem, ranked, random);
+            int[] child = crossover(first.hours(), second.hours(), random);
+            TimetableState state = repair(problem, child, random);
+            mutate(state, child.length, random);
+            next.add(new Individual(state.hours(), state.penalty()));
+        }
+
+        rank(problem, next);
+        return next;
+    }
+
+    static void rank(SchedulingProblem problem, List<Individual> population) {
+        population.sort(Comparator.comparingInt(ind -> ind.fitness(problem)));
+    }
+
+    private static Individual tournament(SchedulingProblem problem, List<Individual> population, RandomGenerator random) {
+        Individual winner = population.get(random.nextInt(population.size()));
+        for (int i = 1; i < TOURNAMENT_SIZE; i++) {
+            Individual challenger = population.get(random.nextInt(population.size()));
+            if (challenger.fitness(problem) < winner.fitness(problem)) {
+                winner = challenger;
+            }
+        }
+        return winner;
+    }
+
+    // One-point crossover over the session genes
+    private static int[] crossover(int[] first, int[] second, RandomGenerator random) {
+        int[] child = first.clone();
+        if (child.length > 1) {
+            int cut = 1 + random.nextInt(child.length - 1);
+            System.arraycopy(second, cut, child, cut, child.length - cut);
+        }
+        return child;
+    }
+
+    // Moves one random session to the hour with the lowest penalty delta (O(1) per candidate hour)
+    private void mutate(TimetableState state, int sessions, RandomGenerator random) {
+        if (sessions == 0 || random.nextDouble() >= mutationRate) {
+            return;
+        }
+        int target = random.nextInt(sessions);
+        int bestHour = state.hour(target);
+        int bestDelta = 0;
+        int ties = 1;
+        for (int hour = 0; hour < SchedulingProblem.START_HOURS; hour++) {
+            if (hour == state.hour(target)) {
+                continue;
+            }
+            int delta = state.moveDelta(target, hour);
+            if (delta < bestDelta) {
+                bestDelta = delta;
+                bestHour = hour;
+                ties = 1;
+            } else if (delta == bestDelta && random.nextInt(++ties) == 0) {
+                bestHour = hour;
+            }
+        }
+        state.move(target, bestHour);
+    }
+
+    // Moves sessions that clash on group or instructor into a free hour of the same day
+    private static TimetableState repair(SchedulingProblem problem, int[] hours, RandomGenerator random) {
+        TimetableState state = new TimetableState(problem);
+        for (int i : shuffledOrder(hours.length, random)) {
+            long busy = state.groupBusyHours(i) | state.instructorBusyHours(i);
+            int hour = (busy & (1L << hours[i])) == 0 ? hours[i] : pickFreeHour(state, i, random);
+            state.place(i, hour);
+        }
+        return state;
+    }
+
+    // ✅ Conflict-free slot assignment (assign_conflict_free_slots without the random retries)
+    static TimetableState randomAssignment(SchedulingProblem problem, RandomGenerator random) {
+        TimetableState state = new TimetableState(problem);
+        for (int i : shuffledOrder(problem.size(), random)) {
+            state.place(i, pickFreeHour(state, i, random));
+        }
+        return state;
+    }
+
+    // Random hour free for the group and instructor, preferring one where the room is free too
+    private static int pickFreeHour(TimetableState state, int session, RandomGenerator random) {
+        long free = ~(state.groupBusyHours(session) | state.instructorBusyHours(session)) & ALL_HOURS;
+        long roomFree = free & ~state.roomBusyHours(session);
+        if (roomFree != 0) {
+            return randomBit(roomFree, random);
+        }
+        if (free != 0) {
+            return randomBit(free, random);
+        }
+        return random.nextInt(SchedulingProblem.START_HOURS);
+    }
+
+    private static int randomBit(long mask, RandomGenerator random) {
+        for (int skip = random.nextInt(Long.bitCount(mask)); skip > 0; skip--) {
+            mask &= mask - 1;
+        }
+        return Long.numberOfTrailingZeros(mask);
+    }
+
+    private static int[] shuffledOrder(int n, RandomGenerator random) {
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = order[i];
+            order[i] = order[j];
+            order[j] = tmp;
+        }
+        return order;
+    }
+}
@@ -0,0 +1,30 @@
+package com.smartsched.service.scheduler;
+
+// One candidate timetable: the start-hour index chosen for every session of the problem
+public final class Individual {
+
+    private final int[] hours;
+    private int fitness = -1;
+
+    public Individual(int[] hours) {
+        this.hours = hours;
+    }
+
+    // Fitness already known from an incrementally maintained TimetableState
+    public Individual(int[] hours, int fitness) {
+        this.hours = hours;
+        this.fitness = fitness;
+    }
+
+    public int[] hours() {
+        return hours;
+    }
+
+    // Computed once and cached; genes are never mutated after evaluation
+    public int fitness(SchedulingProblem problem) {
+        if (fitness < 0) {
+            fitness = FitnessFunction.calculate(problem, hours);
+        }
+        return fitness;
+    }
+}
@@ -0,0 +1,155 @@
+package com.smartsched.service.scheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+// Island-model GA: every island evolves its own population on a fork-join worker,
+// and after each epoch the best individuals migrate to the next island (ring topology)
+public class IslandGeneticScheduler {
+
+    private final GeneticScheduler operators;
+    private final ForkJoinPool pool;
+    private final int islandCount;
+    private final int migrationInterval;
+    private final int migrants;
+
+    public IslandGeneticScheduler(GeneticScheduler operators, ForkJoinPool pool,
+                                  int islandCount, int migrationInterval, int migrants) {
+        this.operators = operators;
+        this.pool = pool;
+        this.islandCount = Math.max(1, islandCount);
+        this.migrationInterval = Math.max(1, migrationInterval);
+        this.migrants = Math.max(0, Math.min(migrants, operators.getPopulationSize() - GeneticScheduler.ELITE_COUNT));
+    }
+
+    public ScheduleResult run(SchedulingProblem problem, long seed) {
+        return run(problem, seed, EvolutionObserver.NONE);
+    }
+
+    // Islands are only in sync between epochs, so the observer sees every migrationInterval-th generation
+    public ScheduleResult run(SchedulingProblem problem, long seed, EvolutionObserver observer) {
+        long start = System.nanoTime();
+        SplittableRandom root = new SplittableRandom(seed);
+
+        List<Island> islands = new ArrayList<>(islandCount);
+        for (int i = 0; i < islandCount; i++) {
+            islands.add(new Island(root.split()));
+        }
+
+        int generations = pool.invoke(new RecursiveTask<Integer>() {
+            @Override
+            protected Integer compute() {
+                ForkJoinTask.invokeAll(islands.stream().map(island -> new InitTask(problem, island)).toList());
+                report(observer, problem, islands, 0, start);
+
+                int done = 0;
+                while (done < operators.getGenerations() && !solved(problem, islands)) {
+                    int epoch = Math.min(migrationInterval, operators.getGenerations() - done);
+                    ForkJoinTask.invokeAll(islands.stream().map(island -> new EpochTask(problem, island, epoch)).toList());
+                    done += epoch;
+                    migrate(problem, islands);
+                    report(observer, problem, islands, done, start);
+                }
+                return done;
+            }
+        });
+
+        List<Individual> merged = new ArrayList<>(islandCount * operators.getPopulationSize());
+        for (Island island : islands) {
+            merged.addAll(island.population);
+        }
+        GeneticScheduler.rank(problem, merged);
+
+        long elapsed = (System.nanoTime() - start) / 1_000_000;
+        return new ScheduleResult(merged.get(0), merged, generations, elapsed);
+    }
+
+    private static void report(EvolutionObserver observer, SchedulingProblem problem, List<Island> islands,
+                               int generation, long start) {
+        if (observer == EvolutionObserver.NONE) {
+            return;
+        }
+        List<Individual> all = new ArrayList<>();
+        for (Island island : islands) {
+            all.addAll(island.population);
+        }
+        GeneticScheduler.rank(problem, all);
+        EvolutionObserver.report(observer, problem, all, generation, start);
+    }
+
+    private static boolean solved(SchedulingProblem problem, List<Island> islands) {
+        for (Island island : islands) {
+            if (island.population.get(0).fitness(problem) == 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Best individuals of island k replace the worst of island k + 1
+    private void migrate(SchedulingProblem problem, List<Island> islands) {
+        if (islands.size() < 2 || migrants == 0) {
+            return;
+        }
+        List<List<Individual>> outgoing = new ArrayList<>(islands.size());
+        for (Island island : islands) {
+            outgoing.add(List.copyOf(island.population.subList(0, migrants)));
+        }
+        for (int i = 0; i < islands.size(); i++) {
+            List<Individual> target = islands.get((i + 1) % islands.size()).population;
+            List<Individual> incoming = outgoing.get(i);
+            for (int m = 0; m < incoming.size(); m++) {
+                target.set(target.size() - 1 - m, incoming.get(m));
+            }
+            GeneticScheduler.rank(problem, target);
+        }
+    }
+
+    private static final class Island {
+        private final SplittableRandom random;
+        private List<Individual> population;
+
+        Island(SplittableRandom random) {
+            this.random = random;
+        }
+    }
+
+    private final class InitTask extends RecursiveAction {
+        private final SchedulingProblem problem;
+        private final Island island;
+
+        InitTask(SchedulingProblem problem, Island island) {
+            this.problem = problem;
+            this.island = island;
+        }
+
+        @Override
+        protected void compute() {
+            island.population = operators.initialPopulation(problem, island.random);
+        }
+    }
+
+    private final class EpochTask extends RecursiveAction {
+        private final SchedulingProblem problem;
+        private final Island island;
+        private final int generations;
+
+        EpochTask(SchedulingProblem problem, Island island, int generations) {
+            this.problem = problem;
+            this.island = island;
+            this.generations = generations;
+        }
+
+        @Override
+        protected void compute() {
+            for (int g = 0; g < generations && island.population.get(0).fitness(problem) > 0; g++) {
+                island.population = operators.nextGeneration(problem, island.population, island.random);
+            }
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.smartsched.service.scheduler;
+
+import java.util.List;
+
+// Outcome of one optimizer run
+public final class ScheduleResult {
+
+    private final Individual best;
+    private final List<Individual> rankedPopulation;
+    private final int generations;
+    private final long elapsedMillis;
+
+    public ScheduleResult(Individual best, List<Individual> rankedPopulation, int generations, long elapsedMillis) {
+        this.best = best;
+        this.rankedPopulation = rankedPopulation;
+        this.generations = generations;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public Individual getBest() { return best; }
+    public List<Individual> getRankedPopulation() { return rankedPopulation; }
+    public int getGenerations() { return generations; }
+    public long getElapsedMillis() { return elapsedMillis; }
+}
@@ -0,0 +1,314 @@
+package com.smartsched.service.scheduler;
+
+import com.smartsched.model.GeneratedSchedule;
+import com.smartsched.model.ScheduleCandidate;
+import com.smartsched.model.ScheduleSession;
+import com.smartsched.model.StudentEnrollment;
+import com.smartsched.repository.EventRepository;
+import com.smartsched.repository.GeneratedScheduleRepository;
+import com.smartsched.repository.ScheduleCandidateRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ThreadLocalRandom;
+
+// In-JVM replacement for running scheduler.py: load sessions, evolve a timetable, store the best one
+@Service
+public class SchedulingEngine {
+
+    public static final String GENERATED_BY = "AI Scheduler";
+
+    private static final DateTimeFormatter BATCH_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss");
+
+    private final SessionLoader sessionLoader;
+    private final GeneratedScheduleRepository scheduleRepository;
+    private final ScheduleCandidateRepository candidateRepository;
+    private final EventRepository eventRepository;
+    private final ForkJoinPool schedulerPool;
+    private final GeneticScheduler geneticScheduler;
+    private final IslandGeneticScheduler islandScheduler;
+    private final DSaturScheduler dsaturScheduler;
+    private final String mode;
+    private final int candidatesPerRun;
+
+    public SchedulingEngine(SessionLoader sessionLoader,
+                            GeneratedScheduleRepository scheduleRepository,
+                            ScheduleCandidateRepository candidateRepository,
+                            EventRepository eventRepository,
+                            ForkJoinPool schedulerPool,
+                            @Value("${smartsched.scheduler.mode:island}") String mode,
+                            @Value("${smartsched.retention.candidates-per-run:20}") int candidatesPerRun,
+                            @Value("${smartsched.scheduler.population-size:20}") int populationSize,
+                            @Value("${smartsched.scheduler.generations:50}") int generations,
+                            @Value("${smartsched.scheduler.mutation-rate:0.1}") double mutationRate,
+                            @Value("${smartsched.scheduler.islands:0}") int islands,
+                            @Value("${smartsched.scheduler.migration-interval:5}") int migrationInterval,
+                            @Value("${smartsched.scheduler.migrants:2}") int migrants,
+                            @Value("${smartsched.scheduler.dsatur-seeds:2}") int dsaturSeeds,
+                            @Value("${smartsched.scheduler.dsatur-passes:5}") int dsaturPasses) {
+        this.sessionLoader = sessionLoader;
+        this.scheduleRepository = scheduleRepository;
+        this.candidateRepository = candidateRepository;
+        this.eventRepository = eventRepository;
+        this.schedulerPool = schedulerPool;
+        this.mode = mode;
+        this.candidatesPerRun = candidatesPerRun;
+        this.geneticScheduler = new GeneticScheduler(populationSize, generations, mutationRate, dsaturSeeds);
+        this.islandScheduler = new IslandGeneticScheduler(geneticScheduler, schedulerPool,
+                islands > 0 ? islands : schedulerPool.getParallelism(), migrationInterval, migrants);
+        this.dsaturScheduler = new DSaturScheduler(dsaturPasses);
+    }
+
+    // ✅ Generate and store the best timetable for one user; null when there is nothing to schedule.
+    // A student placed in class groups gets the schedule shared by those groups (regenerated for all of them).
+    public GeneratedSchedule generate(String email, String role) {
+        return generate(email, role, loadEventMatcher(), GenerationListener.NONE);
+    }
+
+    // ✅ Bulk generation: events are fetched once, users are solved in parallel on the scheduler pool
+    public List<GeneratedSchedule> generateAll(List<String> emails, String role) {
+        return generateAll(emails, role, GenerationListener.NONE);
+    }
+
+    // Students with the same class groups are solved once and share one stored schedule, so a group
+    // costs one run whatever its size; lecturers and students without groups get their own run
+    public List<GeneratedSchedule> generateAll(List<String> emails, String role, GenerationListener listener) {
+        EventMatcher events = loadEventMatcher();
+
+        List<Placement> placements = schedulerPool.submit(() -> emails.parallelStream()
+                .map(email -> place(email, role))
+                .toList()).join();
+
+        Map<String, List<Placement>> members = new LinkedHashMap<>();
+        List<Placement> individuals = new ArrayList<>();
+        for (Placement placement : placements) {
+            String groupKey = GeneratedSchedule.groupKey(placement.groupIds());
+            if (groupKey != null) {
+                members.computeIfAbsent(groupKey, k -> new ArrayList<>()).add(placement);
+            } else {
+                individuals.add(placement);
+            }
+        }
+
+        List<ForkJoinTask<List<GeneratedSchedule>>> tasks = new ArrayList<>(members.size() + individuals.size());
+        members.forEach((groupKey, group) -> tasks.add(ForkJoinTask.adapt(() -> {
+            Map<String, GeneratedSchedule> schedules = Map.of();
+            try {
+                if (!listener.isCancelled()) {
+                    schedules = generateGroup(groupKey, group.get(0).groupIds(), group, events, listener);
+                }
+            } catch (CancellationException e) {
+                // reported as skipped below
+            } catch (RuntimeException e) {
+                System.out.println("❌ Scheduling failed for " + groupKey + ": " + e.getMessage());
+            }
+            for (Placement placement : group) {
+                listener.userFinished(placement.email(), schedules.get(placement.email()));
+            }
+            return schedules.values().stream().filter(Objects::nonNull).distinct().toList();
+        })));
+        for (Placement placement : individuals) {
+            tasks.add(ForkJoinTask.adapt(() -> {
+                GeneratedSchedule schedule = null;
+                try {
+                    if (!listener.isCancelled()) {
+                        schedule = generateForUser(placement.email(), placement.role(), events, listener);
+                    }
+                } catch (CancellationException e) {
+                    // reported as skipped below
+                } catch (RuntimeException e) {
+                    System.out.println("❌ Scheduling failed for " + placement.email() + ": " + e.getMessage());
+                }
+                listener.userFinished(placement.email(), schedule);
+                return schedule != null ? List.of(schedule) : List.<GeneratedSchedule>of();
+            }));
+        }
+        schedulerPool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+
+        List<GeneratedSchedule> saved = new ArrayList<>();
+        for (ForkJoinTask<List<GeneratedSchedule>> task : tasks) {
+            saved.addAll(task.join());
+        }
+        return saved;
+    }
+
+    // Resolved role of a requested user, and the enrollment and class groups of enrolled courses when it is a student
+    private record Placement(String email, String role, StudentEnrollment enrollment, Set<String> groupIds) {
+    }
+
+    private Placement place(String email, String requestedRole) {
+        String role = sessionLoader.resolveRole(email, requestedRole);
+        StudentEnrollment enrollment = "student".equals(role) ? sessionLoader.findEnrollment(email) : null;
+        Set<String> groupIds = enrollment != null ? enrollment.classGroupIds() : Set.of();
+        return new Placement(email, role, enrollment, groupIds);
+    }
+
+    private GeneratedSchedule generate(String email, String requestedRole, EventMatcher events, GenerationListener listener) {
+        Placement placement = place(email, requestedRole);
+        String groupKey = GeneratedSchedule.groupKey(placement.groupIds());
+        if (groupKey != null) {
+            return generateGroup(groupKey, placement.groupIds(), List.of(placement), events, listener).get(email);
+        }
+        return generateForUser(email, placement.role(), events, listener);
+    }
+
+    private GeneratedSchedule generateForUser(String email, String role, EventMatcher events, GenerationListener listener) {
+        if (role == null) {
+            System.out.println("⚠️ Skipping " + email + " due to invalid role");
+            return null;
+        }
+
+        System.out.println("🚀 Running scheduler for " + email + " (" + role + ")");
+        List<SolverSession> baseSessions = sessionLoader.loadSessions(email, role);
+        if (baseSessions.isEmpty()) {
+            System.out.println("❌ No valid sessions found for " + email + ". Skipping.");
+            return null;
+        }
+
+        GeneratedSchedule schedule = new GeneratedSchedule();
+        schedule.setUserEmail(email);
+        return solveAndSave(email, baseSessions, events, listener, schedule);
+    }
+
+    // Schedule per requested email: the shared one, or an own run for students with enrolled modules that have
+    // no class assignment, whose UNSCHEDULED placeholders the shared schedule cannot carry
+    private Map<String, GeneratedSchedule> generateGroup(String groupKey, Set<String> groupIds, List<Placement> requested,
+                                                         EventMatcher events, GenerationListener listener) {
+        List<SolverSession> baseSessions = sessionLoader.loadGroupSessions(groupIds);
+        Map<String, GeneratedSchedule> schedules = new HashMap<>();
+        List<String> memberEmails = new ArrayList<>();
+        for (Placement placement : requested) {
+            if (SessionLoader.coveredByGroups(placement.enrollment(), baseSessions)) {
+                memberEmails.add(placement.email());
+            } else {
+                schedules.put(placement.email(), generateForUser(placement.email(), placement.role(), events, listener));
+            }
+        }
+        if (memberEmails.isEmpty()) {
+            return schedules;
+        }
+
+        System.out.println("🚀 Running scheduler for " + groupKey + " (" + memberEmails.size() + " students)");
+        if (baseSessions.isEmpty()) {
+            System.out.println("❌ No class assignments found for " + groupKey + ". Skipping.");
+            return schedules;
+        }
+
+        // Stored membership covers the whole group, so regenerating for one student keeps the others in conflict checks
+        Set<String> allMembers = new LinkedHashSet<>(memberEmails);
+        allMembers.addAll(sessionLoader.groupMembers(groupIds, baseSessions));
+
+        GeneratedSchedule schedule = new GeneratedSchedule();
+        schedule.setGroupKey(groupKey);
+        schedule.setMemberEmails(List.copyOf(allMembers));
+        GeneratedSchedule saved = solveAndSave(groupKey, baseSessions, events, listener, schedule);
+        for (String email : memberEmails) {
+            schedules.put(email, saved);
+        }
+        return schedules;
+    }
+
+    private GeneratedSchedule solveAndSave(String owner, List<SolverSession> baseSessions, EventMatcher events,
+                                           GenerationListener listener, GeneratedSchedule schedule) {
+        SchedulingProblem problem = SchedulingProblem.of(baseSessions);
+        ScheduleResult result = solve(problem, (generation, bestFitness, meanFitness, elapsedMillis) -> {
+            if (listener.isCancelled()) {
+                throw new CancellationException("Generation cancelled for " + owner);
+            }
+            listener.generationCompleted(owner, generation, bestFitness, meanFitness, elapsedMillis);
+        });
+        Individual best = result.getBest();
+        if (best.fitness(problem) == 0 && !"dsatur".equalsIgnoreCase(mode)
+                && result.getGenerations() < geneticScheduler.getGenerations()) {
+            listener.stoppedEarly(owner, result.getGenerations(), 0, result.getElapsedMillis());
+        }
+
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        schedule.setGeneratedBy(GENERATED_BY);
+        schedule.setFitnessScore(best.fitness(problem));
+        schedule.setBatchId(owner + "_gen_" + now.format(BATCH_FORMAT));
+        schedule.setGeneratedAt(now);
+        schedule.setTimetable(toTimetable(problem, best.hours(), events));
+
+        GeneratedSchedule saved = scheduleRepository.save(schedule);
+        System.out.println("✅ Best schedule saved for " + owner + " | ID: " + saved.getId()
+                + " | Fitness: " + saved.getFitnessScore()
+                + " | Generations: " + result.getGenerations()
+                + " | " + result.getElapsedMillis() + " ms");
+
+        saveCandidates(owner, problem, result, schedule.getBatchId(), now, events);
+        return saved;
+    }
+
+    // ✅ Top-ranked candidates of the run in one insertMany (0 disables); expired later by the TTL index
+    private void saveCandidates(String owner, SchedulingProblem problem, ScheduleResult result, String batchId,
+                                LocalDateTime generatedAt, EventMatcher events) {
+        int count = Math.min(candidatesPerRun, result.getRankedPopulation().size());
+        if (count <= 0) {
+            return;
+        }
+        List<ScheduleCandidate> candidates = new ArrayList<>(count);
+        for (int rank = 0; rank < count; rank++) {
+            Individual individual = result.getRankedPopulation().get(rank);
+            candidates.add(new ScheduleCandidate(owner, batchId, rank + 1, individual.fitness(problem),
+                    generatedAt, toTimetable(problem, individual.hours(), events)));
+        }
+        try {
+            candidateRepository.insert(candidates);
+        } catch (RuntimeException e) {
+            // The best schedule is already stored; losing the candidates does not fail the run
+            System.out.println("⚠️ Could not store ranked candidates for " + owner + ": " + e.getMessage());
+        }
+    }
+
+    private ScheduleResult solve(SchedulingProblem problem, EvolutionObserver observer) {
+        if ("dsatur".equalsIgnoreCase(mode)) {
+            return dsaturScheduler.run(problem, new SplittableRandom(), observer);
+        }
+        if ("single".equalsIgnoreCase(mode)) {
+            return geneticScheduler.run(problem, new SplittableRandom(), observer);
+        }
+        return islandScheduler.run(problem, ThreadLocalRandom.current().nextLong(), observer);
+    }
+
+    private EventMatcher loadEventMatcher() {
+        return new EventMatcher(eventRepository.findByEventDateGreaterThanEqual(LocalDate.now()));
+    }
+
+    // Same document shape scheduler.py writes (snake_case keys + event + className)
+    private static List<ScheduleSession> toTimetable(SchedulingProblem problem, int[] hours, EventMatcher events) {
+        List<ScheduleSession> timetable = new ArrayList<>(problem.size());
+        for (int i = 0; i < problem.size(); i++) {
+            SolverSession s = problem.session(i);
+            String start = SchedulingProblem.HOURS.get(hours[i]);
+            String end = SchedulingProblem.HOURS.get(hours[i] + 1);
+
+            timetable.add(new ScheduleSession(
+                    s.getCourseId(), s.getCourseName(),
+                    s.getModuleId(), s.getModuleName(),
+                    s.getGroupId(), s.getGroupName(),
+                    s.getInstructorId(), s.getInstructorName(),
+                    s.getLocation(), s.getDay(), start, end,
+                    events.match(s.getDay(), start),
+                    s.getGroupId() != null ? s.getGroupId() : "UNKNOWN",
+                    null));
+        }
+        return timetable;
+    }
+}
@@ -0,0 +1,106 @@
+package com.smartsched.service.scheduler;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Solver input: the distinct sessions of one run with their days and resources interned to ints
+public final class SchedulingProblem {
+
+    public static final List<String> DAYS = List.of("Monday", "Tuesday", "Wednesday", "Thursday", "Friday", "Saturday");
+    public static final List<String> HOURS = List.of("08:00", "09:00", "10:00", "11:00", "12:00",
+            "13:00", "14:00", "15:00", "16:00", "17:00");
+
+    // A session starts on HOURS[h] and ends on HOURS[h + 1]
+    public static final int START_HOURS = HOURS.size() - 1;
+
+    private final List<SolverSession> sessions;
+    private final List<String> days;
+    private final int[] day;
+    private final int[] instructor;
+    private final int[] group;
+    private final int[] room;
+    private final int instructorCount;
+    private final int groupCount;
+    private final int roomCount;
+
+    private SchedulingProblem(List<SolverSession> sessions) {
+        this.sessions = sessions;
+        this.days = new ArrayList<>(DAYS);
+
+        int n = sessions.size();
+        this.day = new int[n];
+        this.instructor = new int[n];
+        this.group = new int[n];
+        this.room = new int[n];
+
+        Map<String, Integer> dayIds = new HashMap<>();
+        for (int i = 0; i < DAYS.size(); i++) {
+            dayIds.put(DAYS.get(i), i);
+        }
+        Map<String, Integer> instructorIds = new HashMap<>();
+        Map<String, Integer> groupIds = new HashMap<>();
+        Map<String, Integer> roomIds = new HashMap<>();
+
+        for (int i = 0; i < n; i++) {
+            SolverSession s = sessions.get(i);
+            // Days outside the working week (e.g. "TBD") still share a bucket, exactly like the Python slot keys
+            day[i] = dayIds.computeIfAbsent(String.valueOf(s.getDay()), d -> {
+                days.add(d);
+                return days.size() - 1;
+            });
+            instructor[i] = intern(instructorIds, s.getInstructorId());
+            group[i] = intern(groupIds, s.getGroupId());
+            room[i] = intern(roomIds, s.getLocation());
+        }
+
+        this.instructorCount = instructorIds.size();
+        this.groupCount = groupIds.size();
+        this.roomCount = roomIds.size();
+    }
+
+    // ✅ Keeps one session per (module, group, instructor), like generate_population
+    public static SchedulingProblem of(List<SolverSession> baseSessions) {
+        Set<String> seen = new HashSet<>();
+        List<SolverSession> unique = new ArrayList<>();
+        for (SolverSession s : baseSessions) {
+            if (seen.add(s.getModuleId() + "|" + s.getGroupId() + "|" + s.getInstructorId())) {
+                unique.add(s);
+            }
+        }
+        return new SchedulingProblem(List.copyOf(unique));
+    }
+
+    // ✅ Every session as given, e.g. to check a stored timetable
+    public static SchedulingProblem exact(List<SolverSession> sessions) {
+        return new SchedulingProblem(List.copyOf(sessions));
+    }
+
+    private static int intern(Map<String, Integer> ids, String key) {
+        return ids.computeIfAbsent(String.valueOf(key), k -> ids.size());
+    }
+
+    public int size() { return sessions.size(); }
+    public SolverSession session(int i) { return sessions.get(i); }
+    public List<SolverSession> sessions() { return sessions; }
+
+    public int dayCount() { return days.size(); }
+    public String dayName(int d) { return days.get(d); }
+
+    public int day(int i) { return day[i]; }
+    public int instructor(int i) { return instructor[i]; }
+    public int group(int i) { return group[i]; }
+    public int room(int i) { return room[i]; }
+
+    public int instructorCount() { return instructorCount; }
+    public int groupCount() { return groupCount; }
+    public int roomCount() { return roomCount; }
+
+    public int slotCount() { return days.size() * START_HOURS; }
+
+    // Slot index = day × hours + hour
+    public int slot(int i, int hour) { return day[i] * START_HOURS + hour; }
+}
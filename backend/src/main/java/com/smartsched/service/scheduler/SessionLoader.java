@@ -0,0 +1,209 @@
+package com.smartsched.service.scheduler;
+
+import com.smartsched.model.AllClassAssignment;
+import com.smartsched.model.GeneratedSchedule;
+import com.smartsched.model.InstructorAssignment;
+import com.smartsched.model.StudentEnrollment;
+import com.smartsched.model.User;
+import com.smartsched.repository.AllClassAssignmentRepository;
+import com.smartsched.repository.InstructorAssignmentRepository;
+import com.smartsched.repository.ModuleRepository;
+import com.smartsched.repository.StudentEnrollmentRepository;
+import com.smartsched.repository.UserRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Builds scheduler input for a user (Java port of fetch_all_sessions in fetch_data.py)
+@Component
+public class SessionLoader {
+
+    private final UserRepository userRepository;
+    private final StudentEnrollmentRepository studentEnrollmentRepository;
+    private final InstructorAssignmentRepository instructorAssignmentRepository;
+    private final AllClassAssignmentRepository classAssignmentRepository;
+    private final ModuleRepository moduleRepository;
+
+    public SessionLoader(UserRepository userRepository,
+                         StudentEnrollmentRepository studentEnrollmentRepository,
+                         InstructorAssignmentRepository instructorAssignmentRepository,
+                         AllClassAssignmentRepository classAssignmentRepository,
+                         ModuleRepository moduleRepository) {
+        this.userRepository = userRepository;
+        this.studentEnrollmentRepository = studentEnrollmentRepository;
+        this.instructorAssignmentRepository = instructorAssignmentRepository;
+        this.classAssignmentRepository = classAssignmentRepository;
+        this.moduleRepository = moduleRepository;
+    }
+
+    // ✅ Requested role wins unless it is missing or the generic "user" role; otherwise use the stored one
+    public String resolveRole(String email, String requestedRole) {
+        String role = requestedRole;
+        if (role == null || role.isBlank() || "user".equalsIgnoreCase(role)) {
+            role = userRepository.findByEmail(email).map(User::getRole).orElse(null);
+        }
+        if (role == null) {
+            return null;
+        }
+        role = role.toLowerCase();
+        return "student".equals(role) || "lecturer".equals(role) ? role : null;
+    }
+
+    public List<SolverSession> loadSessions(String email, String role) {
+        if (userRepository.findByEmail(email).isEmpty()) {
+            System.out.println("❌ User not found: " + email);
+            return List.of();
+        }
+
+        if ("student".equals(role)) {
+            return loadStudentSessions(email);
+        } else if ("lecturer".equals(role)) {
+            return loadLecturerSessions(email);
+        }
+        return List.of();
+    }
+
+    public StudentEnrollment findEnrollment(String email) {
+        return studentEnrollmentRepository.findByEmail(email).orElse(null);
+    }
+
+    // ✅ True when the shared run over the student's groups gives what loadStudentSessions would: every module of
+    // an enrolled course has a class assignment in the groups seen so far. Otherwise the per-student run is needed
+    // for the UNSCHEDULED placeholders it adds.
+    public static boolean coveredByGroups(StudentEnrollment enrollment, List<SolverSession> groupSessions) {
+        if (enrollment == null || enrollment.getCourses() == null) {
+            return false;
+        }
+        Map<String, String> courseClasses = enrollment.getCourseClasses() != null ? enrollment.getCourseClasses() : Map.of();
+        Map<String, List<String>> courseModules = enrollment.getCourseModules() != null ? enrollment.getCourseModules() : Map.of();
+
+        Map<String, Set<String>> modulesByGroup = new HashMap<>();
+        for (SolverSession session : groupSessions) {
+            modulesByGroup.computeIfAbsent(session.getGroupId(), k -> new HashSet<>()).add(session.getModuleName());
+        }
+
+        Set<String> usedModules = new HashSet<>();
+        for (String courseName : enrollment.getCourses()) {
+            String groupId = courseClasses.get(courseName);
+            if (groupId != null) {
+                usedModules.addAll(modulesByGroup.getOrDefault(groupId, Set.of()));
+            }
+            for (String module : courseModules.getOrDefault(courseName, List.of())) {
+                if (!usedModules.contains(module)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    // ✅ Every student a shared schedule of these groups serves: same enrolled-course groups and no unscheduled
+    // module, whether or not they were part of the request that regenerated it
+    public List<String> groupMembers(Collection<String> groupIds, List<SolverSession> groupSessions) {
+        String groupKey = GeneratedSchedule.groupKey(groupIds);
+        List<String> members = new ArrayList<>();
+        if (groupKey == null) {
+            return members;
+        }
+        for (StudentEnrollment enrollment : studentEnrollmentRepository.findByClassGroupIds(groupIds)) {
+            if (enrollment.getEmail() != null
+                    && groupKey.equals(GeneratedSchedule.groupKey(enrollment.classGroupIds()))
+                    && coveredByGroups(enrollment, groupSessions)) {
+                members.add(enrollment.getEmail());
+            }
+        }
+        return members;
+    }
+
+    // ✅ Scheduled sessions of a set of class groups, i.e. what every student placed in exactly those groups attends
+    public List<SolverSession> loadGroupSessions(Collection<String> groupIds) {
+        List<SolverSession> sessions = new ArrayList<>();
+        for (String groupId : groupIds) {
+            for (AllClassAssignment doc : classAssignmentRepository.findByGroupId(groupId)) {
+                sessions.add(SolverSession.fromAssignment(doc, doc.getDate(), doc.getStartTime()));
+            }
+        }
+        return sessions;
+    }
+
+    private List<SolverSession> loadStudentSessions(String email) {
+        StudentEnrollment enrollment = studentEnrollmentRepository.findByEmail(email).orElse(null);
+        if (enrollment == null || enrollment.getCourses() == null) {
+            System.out.println("❌ Student enrollment not found for " + email);
+            return List.of();
+        }
+
+        Map<String, String> courseClasses = enrollment.getCourseClasses() != null ? enrollment.getCourseClasses() : Map.of();
+        Map<String, List<String>> courseModules = enrollment.getCourseModules() != null ? enrollment.getCourseModules() : Map.of();
+
+        List<SolverSession> sessions = new ArrayList<>();
+        Set<String> usedModules = new HashSet<>();
+
+        for (String courseName : enrollment.getCourses()) {
+            String groupId = courseClasses.get(courseName);
+
+            if (groupId != null) {
+                for (AllClassAssignment doc : classAssignmentRepository.findByGroupId(groupId)) {
+                    sessions.add(SolverSession.fromAssignment(doc, doc.getDate(), doc.getStartTime()));
+                    usedModules.add(doc.getModuleName());
+                }
+            }
+
+            for (String module : courseModules.getOrDefault(courseName, List.of())) {
+                if (!usedModules.contains(module)) {
+                    String moduleId = moduleRepository.findFirstByModuleName(module)
+                            .map(m -> m.getModuleId())
+                            .orElse(module.replace(" ", "_").toLowerCase());
+                    sessions.add(SolverSession.unscheduled(courseName, moduleId, module));
+                }
+            }
+        }
+
+        return sessions;
+    }
+
+    private List<SolverSession> loadLecturerSessions(String email) {
+        InstructorAssignment instructor = instructorAssignmentRepository.findByEmail(email).orElse(null);
+        if (instructor == null) {
+            System.out.println("❌ Instructor assignment not found for " + email);
+            return List.of();
+        }
+
+        List<String> modules = instructor.getModules();
+        Map<String, String> classes = instructor.getClasses();
+        if (modules == null || modules.isEmpty() || classes == null || classes.isEmpty()) {
+            System.out.println("❌ No valid modules or class assignments for " + email);
+            return List.of();
+        }
+
+        List<AllClassAssignment> results = classAssignmentRepository
+                .findByModuleNameInAndGroupIdInAndInstructorId(modules, classes.values(), instructor.getId());
+
+        List<SolverSession> sessions = new ArrayList<>(results.size());
+        for (AllClassAssignment doc : results) {
+            sessions.add(SolverSession.fromAssignment(doc, capitalize(doc.getDate()), padTime(doc.getStartTime())));
+        }
+        return sessions;
+    }
+
+    private static String capitalize(String value) {
+        if (value == null || value.isEmpty()) {
+            return value;
+        }
+        return Character.toUpperCase(value.charAt(0)) + value.substring(1).toLowerCase();
+    }
+
+    // "9:00" -> "09:00"
+    private static String padTime(String value) {
+        if (value == null) {
+            return null;
+        }
+        return value.length() < 5 ? "0".repeat(5 - value.length()) + value : value;
+    }
+}
@@ -0,0 +1,82 @@
+package com.smartsched.service.scheduler;
+
+import com.smartsched.model.AllClassAssignment;
+import com.smartsched.model.ScheduleSession;
+
+// One class session as the scheduler sees it (mirrors the session dicts built in fetch_data.py)
+public final class SolverSession {
+
+    private final String courseId;
+    private final String courseName;
+    private final String moduleId;
+    private final String moduleName;
+    private final String groupId;
+    private final String groupName;
+    private final String instructorId;
+    private final String instructorName;
+    private final String location;
+    private final String day;
+    private final String startTime;
+    private final String endTime;
+
+    public SolverSession(String courseId, String courseName, String moduleId, String moduleName,
+                         String groupId, String groupName, String instructorId, String instructorName,
+                         String location, String day, String startTime, String endTime) {
+        this.courseId = courseId;
+        this.courseName = courseName;
+        this.moduleId = moduleId;
+        this.moduleName = moduleName;
+        this.groupId = groupId;
+        this.groupName = groupName;
+        this.instructorId = instructorId;
+        this.instructorName = instructorName;
+        this.location = location;
+        this.day = day;
+        this.startTime = startTime;
+        this.endTime = endTime;
+    }
+
+    // ✅ Session backed by a class assignment document
+    public static SolverSession fromAssignment(AllClassAssignment doc, String day, String startTime) {
+        return new SolverSession(
+                doc.getCourseId(), doc.getCourseName(),
+                doc.getModuleId(), doc.getModuleName(),
+                doc.getGroupId(), doc.getGroupName(),
+                doc.getInstructorId(), doc.getInstructorName(),
+                doc.getLocation(), day, startTime, doc.getEndTime());
+    }
+
+    // ✅ Session read back from a stored timetable entry
+    public static SolverSession fromScheduleSession(ScheduleSession s) {
+        return new SolverSession(
+                s.getCourseId(), s.getCourseName(),
+                s.getModuleId(), s.getModuleName(),
+                s.getGroupId(), s.getGroupName(),
+                s.getInstructorId(), s.getInstructorName(),
+                s.getLocation(), s.getDay(), s.getStartTime(), s.getEndTime());
+    }
+
+    // ✅ Placeholder for an enrolled module that has no class assignment yet
+    public static SolverSession unscheduled(String courseName, String moduleId, String moduleName) {
+        return new SolverSession("-", courseName, moduleId, moduleName,
+                "-", "UNSCHEDULED", "-", "-", "-", "TBD", "--", "--");
+    }
+
+    // "-" marks the missing group/instructor/room of an unscheduled module
+    public static boolean isPlaceholder(String value) {
+        return value == null || "-".equals(value);
+    }
+
+    public String getCourseId() { return courseId; }
+    public String getCourseName() { return courseName; }
+    public String getModuleId() { return moduleId; }
+    public String getModuleName() { return moduleName; }
+    public String getGroupId() { return groupId; }
+    public String getGroupName() { return groupName; }
+    public String getInstructorId() { return instructorId; }
+    public String getInstructorName() { return instructorName; }
+    public String getLocation() { return location; }
+    public String getDay() { return day; }
+    public String getStartTime() { return startTime; }
+    public String getEndTime() { return endTime; }
+}
@@ -0,0 +1,168 @@
+package com.smartsched.service.scheduler;
+
+import java.util.Arrays;
+
+// Solver-side timetable encoding.
+// Slot index = day × START_HOURS + hour. Every instructor, group and room owns a long[] bitset of the
+// slots it occupies, backed by per-slot counters so the calculate_fitness penalty can be kept up to date
+// in O(1) when a single session is placed, removed or moved.
+public final class TimetableState {
+
+    public static final int UNPLACED = -1;
+
+    private final SchedulingProblem problem;
+    private final int slots;
+    private final int words;
+
+    private final int[] hours;
+    private final int[] slotLoad;
+    private final int[] instructorLoad;
+    private final int[] groupLoad;
+    private final int[] roomLoad;
+    private final long[] instructorBits;
+    private final long[] groupBits;
+    private final long[] roomBits;
+
+    private int penalty;
+
+    public TimetableState(SchedulingProblem problem) {
+        this.problem = problem;
+        this.slots = problem.slotCount();
+        this.words = (slots + 63) >>> 6;
+
+        this.hours = new int[problem.size()];
+        Arrays.fill(hours, UNPLACED);
+        this.slotLoad = new int[slots];
+        this.instructorLoad = new int[problem.instructorCount() * slots];
+        this.groupLoad = new int[problem.groupCount() * slots];
+        this.roomLoad = new int[problem.roomCount() * slots];
+        this.instructorBits = new long[problem.instructorCount() * words];
+        this.groupBits = new long[problem.groupCount() * words];
+        this.roomBits = new long[problem.roomCount() * words];
+    }
+
+    // ✅ State with every session placed at the given hours
+    public static TimetableState of(SchedulingProblem problem, int[] hours) {
+        TimetableState state = new TimetableState(problem);
+        for (int i = 0; i < hours.length; i++) {
+            state.place(i, hours[i]);
+        }
+        return state;
+    }
+
+    public int penalty() {
+        return penalty;
+    }
+
+    public int hour(int session) {
+        return hours[session];
+    }
+
+    public int[] hours() {
+        return hours.clone();
+    }
+
+    public void place(int session, int hour) {
+        if (hours[session] != UNPLACED) {
+            throw new IllegalStateException("Session " + session + " is already placed");
+        }
+        int slot = problem.slot(session, hour);
+        penalty += FitnessFunction.OVERLAP_PENALTY * occupiedBefore(slotLoad, slot);
+        penalty += FitnessFunction.CLASH_PENALTY * add(instructorLoad, instructorBits, problem.instructor(session), slot);
+        penalty += FitnessFunction.CLASH_PENALTY * add(groupLoad, groupBits, problem.group(session), slot);
+        penalty += FitnessFunction.CLASH_PENALTY * add(roomLoad, roomBits, problem.room(session), slot);
+        slotLoad[slot]++;
+        hours[session] = hour;
+    }
+
+    public void remove(int session) {
+        int hour = hours[session];
+        if (hour == UNPLACED) {
+            return;
+        }
+        int slot = problem.slot(session, hour);
+        slotLoad[slot]--;
+        penalty -= FitnessFunction.OVERLAP_PENALTY * occupiedBefore(slotLoad, slot);
+        penalty -= FitnessFunction.CLASH_PENALTY * subtract(instructorLoad, instructorBits, problem.instructor(session), slot);
+        penalty -= FitnessFunction.CLASH_PENALTY * subtract(groupLoad, groupBits, problem.group(session), slot);
+        penalty -= FitnessFunction.CLASH_PENALTY * subtract(roomLoad, roomBits, problem.room(session), slot);
+        hours[session] = UNPLACED;
+    }
+
+    public void move(int session, int hour) {
+        remove(session);
+        place(session, hour);
+    }
+
+    // ✅ Penalty change if the session moved to the given hour, without touching the state
+    public int moveDelta(int session, int hour) {
+        int from = hours[session];
+        int to = problem.slot(session, hour);
+        if (from != UNPLACED && problem.slot(session, from) == to) {
+            return 0;
+        }
+        int delta = FitnessFunction.OVERLAP_PENALTY * occupiedBefore(slotLoad, to)
+                + FitnessFunction.CLASH_PENALTY * (occupiedBefore(instructorLoad, problem.instructor(session) * slots + to)
+                + occupiedBefore(groupLoad, problem.group(session) * slots + to)
+                + occupiedBefore(roomLoad, problem.room(session) * slots + to));
+        if (from != UNPLACED) {
+            int slot = problem.slot(session, from);
+            delta -= FitnessFunction.OVERLAP_PENALTY * sharedWith(slotLoad, slot)
+                    + FitnessFunction.CLASH_PENALTY * (sharedWith(instructorLoad, problem.instructor(session) * slots + slot)
+                    + sharedWith(groupLoad, problem.group(session) * slots + slot)
+                    + sharedWith(roomLoad, problem.room(session) * slots + slot));
+        }
+        return delta;
+    }
+
+    // Bitmask of START_HOURS bits: hours of the session's day where its instructor is busy
+    public long instructorBusyHours(int session) {
+        return dayBits(instructorBits, problem.instructor(session), problem.day(session));
+    }
+
+    public long groupBusyHours(int session) {
+        return dayBits(groupBits, problem.group(session), problem.day(session));
+    }
+
+    public long roomBusyHours(int session) {
+        return dayBits(roomBits, problem.room(session), problem.day(session));
+    }
+
+    private static int occupiedBefore(int[] load, int index) {
+        return load[index] > 0 ? 1 : 0;
+    }
+
+    // 1 when other sessions remain in the slot after this one leaves
+    private static int sharedWith(int[] load, int index) {
+        return load[index] > 1 ? 1 : 0;
+    }
+
+    private int add(int[] load, long[] bits, int resource, int slot) {
+        int index = resource * slots + slot;
+        int clash = load[index] > 0 ? 1 : 0;
+        if (load[index]++ == 0) {
+            bits[resource * words + (slot >>> 6)] |= 1L << slot;
+        }
+        return clash;
+    }
+
+    private int subtract(int[] load, long[] bits, int resource, int slot) {
+        int index = resource * slots + slot;
+        if (--load[index] == 0) {
+            bits[resource * words + (slot >>> 6)] &= ~(1L << slot);
+        }
+        return load[index] > 0 ? 1 : 0;
+    }
+
+    private long dayBits(long[] bits, int resource, int day) {
+        int first = day * SchedulingProblem.START_HOURS;
+        int base = resource * words;
+        int word = first >>> 6;
+        int offset = first & 63;
+        long value = bits[base + word] >>> offset;
+        if (offset + SchedulingProblem.START_HOURS > 64 && word + 1 < words) {
+            value |= bits[base + word + 1] << (64 - offset);
+        }
+        return value & ((1L << SchedulingProblem.START_HOURS) - 1);
+    }
+}
@@ -2,29 +2,169 @@ package com.smartsched.utils;
 
 import com.smartsched.model.ConflictIssue;
 import com.smartsched.model.GeneratedSchedule;
+import com.smartsched.model.ScheduleSession;
+import com.smartsched.service.scheduler.SolverSession;
 
+import java.time.LocalTime;
 import java.util.*;
 
 public class ConflictChecker {
 
+    public static final List<ConflictIssue.Type> RESOURCES =
+            List.of(ConflictIssue.Type.INSTRUCTOR, ConflictIssue.Type.GROUP, ConflictIssue.Type.ROOM);
+
+    // ✅ Sweep line over minute intervals per instructor, group and room (and day), across the latest schedule of
+    // every owner. Identical sessions shared by several schedules (e.g. every student of a group) count once.
     public static List<ConflictIssue> detectConflicts(List<GeneratedSchedule> schedules) {
         List<ConflictIssue> issues = new ArrayList<>();
+        Map<SessionId, Interval> unique = new LinkedHashMap<>();
 
-        for (GeneratedSchedule schedule : schedules) {
-            Set<String> timeSlots = new HashSet<>();
-
-            for (Map<String, Object> session : schedule.getTimetable()) {
-                String slotKey = session.get("day") + "-" + session.get("startTime") + "-" + session.get("endTime");
-                if (!timeSlots.add(slotKey)) {
-                    issues.add(new ConflictIssue(schedule.getUserEmail(), "Duplicate session at " + slotKey));
+        for (GeneratedSchedule schedule : latestPerOwner(schedules)) {
+            if (schedule.getTimetable() == null) {
+                continue;
+            }
+            for (ScheduleSession session : schedule.getTimetable()) {
+                Interval interval = validInterval(schedule.owner(), session, issues);
+                if (interval != null) {
+                    unique.putIfAbsent(identity(session), interval);
                 }
+            }
+        }
 
-                if (!session.containsKey("moduleName")) {
-                    issues.add(new ConflictIssue(schedule.getUserEmail(), "Missing moduleName in session"));
+        for (ConflictIssue.Type type : RESOURCES) {
+            Map<String, List<Interval>> lanes = new HashMap<>();
+            for (Interval interval : unique.values()) {
+                String id = resourceId(type, interval.session);
+                if (!SolverSession.isPlaceholder(id)) {
+                    lanes.computeIfAbsent(id + "|" + interval.session.getDay(), k -> new ArrayList<>()).add(interval);
                 }
             }
+            for (List<Interval> lane : lanes.values()) {
+                issues.addAll(sweepLane(type, lane));
+            }
         }
+        return issues;
+    }
 
+    // ✅ Newest schedule of each owner (user email or group key): older generations of a regenerated timetable
+    // would otherwise clash with the current one in every lane
+    public static List<GeneratedSchedule> latestPerOwner(List<GeneratedSchedule> schedules) {
+        Map<String, GeneratedSchedule> latest = new LinkedHashMap<>();
+        for (GeneratedSchedule schedule : schedules) {
+            latest.merge(String.valueOf(schedule.owner()), schedule, (kept, candidate) ->
+                    candidate.getGeneratedAt() != null
+                            && (kept.getGeneratedAt() == null || candidate.getGeneratedAt().isAfter(kept.getGeneratedAt()))
+                            ? candidate : kept);
+        }
+        return new ArrayList<>(latest.values());
+    }
+
+    // ✅ Overlapping pairs within one resource on one day: O(n log n) sort plus one heap operation per interval
+    public static List<ConflictIssue> sweepLane(ConflictIssue.Type type, List<Interval> lane) {
+        List<ConflictIssue> issues = new ArrayList<>();
+        if (lane.size() < 2) {
+            return issues;
+        }
+
+        List<Interval> sorted = new ArrayList<>(lane);
+        sorted.sort(Comparator.comparingInt((Interval i) -> i.start).thenComparingInt(i -> i.end));
+        PriorityQueue<Interval> active = new PriorityQueue<>(Comparator.comparingInt((Interval i) -> i.end));
+
+        for (Interval current : sorted) {
+            while (!active.isEmpty() && active.peek().end <= current.start) {
+                active.poll();
+            }
+            for (Interval open : active) {
+                issues.add(ConflictIssue.clash(type, resourceName(type, current.session), current.session.getDay(),
+                        format(current.start), format(Math.min(open.end, current.end)),
+                        open.owner, open.session, current.owner, current.session));
+            }
+            active.add(current);
+        }
         return issues;
     }
+
+    public static String resourceId(ConflictIssue.Type type, ScheduleSession session) {
+        return switch (type) {
+            case INSTRUCTOR -> session.getInstructorId();
+            case GROUP -> session.getGroupId();
+            case ROOM -> session.getLocation();
+            default -> throw new IllegalArgumentException("Not a resource: " + type);
+        };
+    }
+
+    private static String resourceName(ConflictIssue.Type type, ScheduleSession session) {
+        return switch (type) {
+            case INSTRUCTOR -> session.getInstructorName();
+            case GROUP -> session.getGroupName();
+            default -> resourceId(type, session);
+        };
+    }
+
+    private static Interval validInterval(String owner, ScheduleSession session, List<ConflictIssue> issues) {
+        if (session.getModuleName() == null) {
+            issues.add(new ConflictIssue(owner, ConflictIssue.Type.MISSING_MODULE, "Missing module_name in session"));
+        }
+        if (SolverSession.isPlaceholder(session.getGroupId()) && SolverSession.isPlaceholder(session.getLocation())) {
+            issues.add(new ConflictIssue(owner, ConflictIssue.Type.UNSCHEDULED,
+                    "Module " + session.getModuleName() + " has no class assignment yet"));
+            return null;
+        }
+
+        Interval interval = Interval.of(owner, session);
+        if (interval == null) {
+            issues.add(new ConflictIssue(owner, ConflictIssue.Type.INVALID_TIME, "Invalid session time "
+                    + session.getDay() + " " + session.getStartTime() + "-" + session.getEndTime()
+                    + " for " + session.getModuleName()));
+        }
+        return interval;
+    }
+
+    // Same class seen through several users' schedules
+    private record SessionId(String moduleName, String instructorId, String groupId,
+                             String day, String startTime, String endTime, String location) {
+    }
+
+    private static SessionId identity(ScheduleSession s) {
+        return new SessionId(s.getModuleName(), s.getInstructorId(), s.getGroupId(),
+                s.getDay(), s.getStartTime(), s.getEndTime(), s.getLocation());
+    }
+
+    private static Integer minutes(String time) {
+        if (time == null || !time.contains(":")) {
+            return null;
+        }
+        try {
+            String[] parts = time.trim().split(":");
+            return Integer.parseInt(parts[0]) * 60 + Integer.parseInt(parts[1]);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static String format(int minutes) {
+        return LocalTime.of(minutes / 60 % 24, minutes % 60).toString();
+    }
+
+    // A session of one user's schedule as a [start, end) minute interval
+    public static final class Interval {
+        final String owner;
+        final ScheduleSession session;
+        final int start;
+        final int end;
+
+        private Interval(String owner, ScheduleSession session, int start, int end) {
+            this.owner = owner;
+            this.session = session;
+            this.start = start;
+            this.end = end;
+        }
+
+        // null when the times do not parse or the session does not end after it starts
+        public static Interval of(String owner, ScheduleSession session) {
+            Integer start = minutes(session.getStartTime());
+            Integer end = minutes(session.getEndTime());
+            return start != null && end != null && end > start ? new Interval(owner, session, start, end) : null;
+        }
+    }
 }
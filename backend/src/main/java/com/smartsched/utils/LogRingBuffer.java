@@ -0,0 +1,51 @@
+package com.smartsched.utils;
+
+// Keeps the last `capacity` lines of a log; older lines are dropped and counted, so memory stays fixed
+public class LogRingBuffer {
+
+    private final String[] lines;
+    private int next;
+    private int size;
+    private long dropped;
+
+    public LogRingBuffer(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be at least 1");
+        }
+        this.lines = new String[capacity];
+    }
+
+    // ✅ Multi-line text is split, so each line counts against the capacity
+    public synchronized void append(String text) {
+        if (text == null) {
+            return;
+        }
+        String body = text.endsWith("\n") ? text.substring(0, text.length() - 1) : text;
+        for (String line : body.split("\n", -1)) {
+            if (size == lines.length) {
+                dropped++;
+            } else {
+                size++;
+            }
+            lines[next] = line;
+            next = (next + 1) % lines.length;
+        }
+    }
+
+    public synchronized long getDropped() {
+        return dropped;
+    }
+
+    @Override
+    public synchronized String toString() {
+        StringBuilder text = new StringBuilder();
+        if (dropped > 0) {
+            text.append("… ").append(dropped).append(" earlier line(s) dropped\n");
+        }
+        int start = (next - size + lines.length) % lines.length;
+        for (int i = 0; i < size; i++) {
+            text.append(lines[(start + i) % lines.length]).append('\n');
+        }
+        return text.toString();
+    }
+}
@@ -19,12 +19,6 @@ generated_schedules = db["generated_schedules"]
 generated_schedules_all = db["generated_schedules_all"]
 users_collection = db["users"]
 
-# === Argument parser for multiple emails ===
-parser = argparse.ArgumentParser()
-parser.add_argument("--emails", help="Comma-separated user emails")
-parser.add_argument("--role", help="User role (optional)")
-args = parser.parse_args()
-
 # === Debug toggle ===
 DEBUG = True
 def debug(msg):
@@ -35,6 +29,7 @@ def debug(msg):
 POPULATION_SIZE = 20
 GENERATIONS = 50
 MUTATION_RATE = 0.1
+DSATUR_SEEDS = int(os.getenv("SCHEDULER_DSATUR_SEEDS", "2"))  # initial individuals built by DSatur
 DAYS = ["Monday", "Tuesday", "Wednesday", "Thursday", "Friday", "Saturday"]
 HOURS = ["08:00", "09:00", "10:00", "11:00", "12:00", "13:00", "14:00", "15:00", "16:00", "17:00"]
 
@@ -100,6 +95,48 @@ def assign_conflict_free_slots(sessions):
 
     return sessions
 
+# === DSatur Graph Colouring ===
+# Sessions on the same day sharing an instructor, group or room conflict; colours are that day's start hours.
+# The most saturated session (most hours taken by placed neighbours) goes next, then the one with most
+# unplaced neighbours; it takes a free hour, preferring one no other session of the day uses.
+def dsatur_assign(sessions):
+    sharing = defaultdict(list)
+    keys = []
+    for i, session in enumerate(sessions):
+        day = session["day"]
+        own = [(day, "i", session["instructor_id"]), (day, "g", session["group_id"]), (day, "r", session["location"])]
+        keys.append(own)
+        for key in own:
+            sharing[key].append(i)
+
+    neighbours = [set() for _ in sessions]
+    for i, own in enumerate(keys):
+        for key in own:
+            neighbours[i].update(sharing[key])
+        neighbours[i].discard(i)
+
+    taken = [set() for _ in sessions]     # hours used by placed neighbours
+    day_load = defaultdict(lambda: defaultdict(int))
+    unplaced_degree = [len(n) for n in neighbours]
+    unplaced = set(range(len(sessions)))
+
+    while unplaced:
+        best = max(unplaced, key=lambda i: (len(taken[i]), unplaced_degree[i], random.random()))
+        unplaced.remove(best)
+        session = sessions[best]
+        load = day_load[session["day"]]
+        start_idx = min(range(len(HOURS) - 1),
+                        key=lambda h: (h in taken[best], load[h] > 0, random.random()))
+
+        session["start_time"] = HOURS[start_idx]
+        session["end_time"] = HOURS[start_idx + 1]
+        load[start_idx] += 1
+        for n in neighbours[best]:
+            taken[n].add(start_idx)
+            unplaced_degree[n] -= 1
+
+    return sessions
+
 # === Remove Duplicates ===
 def deduplicate_sessions(timetable):
     seen = set()
@@ -123,9 +160,12 @@ def generate_population(base_sessions):
             unique_sessions_set.add(key)
             unique_sessions.append(deepcopy(session))
 
-    for _ in range(POPULATION_SIZE):
+    for index in range(POPULATION_SIZE):
         individual = deepcopy(unique_sessions)
-        individual = assign_conflict_free_slots(individual)
+        if index < DSATUR_SEEDS:
+            individual = dsatur_assign(individual)
+        else:
+            individual = assign_conflict_free_slots(individual)
         individual = deduplicate_sessions(individual)
         random.shuffle(individual)
         population.append(individual)
@@ -157,7 +197,7 @@ def run_genetic_algorithm(user_email, user_role):
     base_sessions = fetch_all_sessions(user_email, user_role)
     if not base_sessions:
         print("❌ No valid sessions found. Skipping.")
-        return
+        return None
 
     course_set = set()
     for session in base_sessions:
@@ -201,20 +241,21 @@ def run_genetic_algorithm(user_email, user_role):
             break
 
     batch_id = save_all_schedules(user_email, sorted_population)
-    save_best_schedule(user_email, best_schedule, batch_id, base_sessions)
+    return save_best_schedule(user_email, best_schedule, batch_id, base_sessions)
 
 # === Save All Schedules ===
 def save_all_schedules(user_email, sorted_population):
-    batch_id = f"{user_email}_gen_{datetime.now(timezone.utc).strftime('%Y%m%d_%H%M%S')}"
-    for rank, schedule in enumerate(sorted_population, start=1):
-        generated_schedules_all.insert_one({
-            "userEmail": user_email,
-            "batchId": batch_id,
-            "rank": rank,
-            "fitnessScore": calculate_fitness(schedule),
-            "generatedAt": datetime.now(timezone.utc),
-            "timetable": schedule
-        })
+    generated_at = datetime.now(timezone.utc)
+    batch_id = f"{user_email}_gen_{generated_at.strftime('%Y%m%d_%H%M%S')}"
+    # ✅ One round trip for the whole batch; generatedAt feeds the TTL index on generated_schedules_all
+    generated_schedules_all.insert_many([{
+        "userEmail": user_email,
+        "batchId": batch_id,
+        "rank": rank,
+        "fitnessScore": calculate_fitness(schedule),
+        "generatedAt": generated_at,
+        "timetable": schedule
+    } for rank, schedule in enumerate(sorted_population, start=1)], ordered=False)
     return batch_id
 
 # === Save Best Schedule ===
@@ -249,6 +290,7 @@ def save_best_schedule(user_email, schedule, batch_id, base_sessions):
 
     inserted = generated_schedules.insert_one(result)
     print(f"✅ Best schedule saved for {user_email} | ID: {inserted.inserted_id}")
+    return {"scheduleId": str(inserted.inserted_id), "fitnessScore": result["fitnessScore"]}
 
 
 # === Role Detection from MongoDB ===
@@ -259,21 +301,36 @@ def get_user_role(email):
         return None
     return user.get("role")
 
+# === Run for a list of users (CLI and scheduler_worker.py) ===
+def run_for_emails(emails, role_arg=None):
+    results = []
+    for email in emails:
+        role = role_arg if role_arg and role_arg != "user" else get_user_role(email)
+        if role not in ["student", "lecturer"]:
+            print(f"⚠️ Skipping {email} due to invalid role: {role}")
+            results.append({"email": email, "skipped": f"invalid role: {role}"})
+            continue
+
+        saved = run_genetic_algorithm(email, role)
+        if saved is None:
+            results.append({"email": email, "skipped": "no valid sessions"})
+        else:
+            results.append({"email": email, "role": role, **saved})
+    return results
+
 # === Main Execution ===
 if __name__ == "__main__":
+    parser = argparse.ArgumentParser()
+    parser.add_argument("--emails", help="Comma-separated user emails")
+    parser.add_argument("--role", help="User role (optional)")
+    args = parser.parse_args()
+
     print("⚙️  Starting Bulk Genetic Scheduling for SmartSched...")
 
     emails = args.emails.split(",") if args.emails else []
-    role_arg = args.role
 
     if not emails:
         print("❌ No emails provided.")
         exit(1)
 
-    for email in emails:
-        role = role_arg if role_arg and role_arg != "user" else get_user_role(email)
-        if role not in ["student", "lecturer"]:
-            print(f"⚠️ Skipping {email} due to invalid role: {role}")
-            continue
-
-        run_genetic_algorithm(email, role)
\ No newline at end of file
+    run_for_emails(emails, args.role)
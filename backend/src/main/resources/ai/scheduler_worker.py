@@ -0,0 +1,92 @@
+import collections
+import contextlib
+import io
+import json
+import os
+import sys
+
+# === Long-lived scheduler worker ===
+# Started by the backend's PythonWorkerPool and kept running between jobs, so the interpreter,
+# imports and the MongoDB connection pool are paid for once.
+#
+# Protocol (one JSON object per line):
+#   stdout → {"type": "ready", "pid": ...} once at startup
+#   stdin  ← {"id": "...", "type": "generate", "emails": [...], "role": "student"}
+#   stdout → {"id": "...", "ok": true, "results": [...], "log": "..."}
+#   stdin  ← {"id": "...", "type": "ping"}
+#   stdout → {"id": "...", "ok": true}
+# Anything else the scheduler prints goes to stderr, so it can never corrupt the protocol stream.
+
+protocol = sys.stdout
+sys.stdout = sys.stderr
+
+import scheduler  # noqa: E402  (connects after stdout is redirected)
+
+
+# Lines of scheduler output kept per job; older lines are dropped so a chatty run cannot grow the response
+MAX_LOG_LINES = int(os.getenv("SCHEDULER_MAX_LOG_LINES", "500"))
+
+
+class TailLog(io.TextIOBase):
+    """Ring buffer of the last MAX_LOG_LINES lines written to it."""
+
+    def __init__(self, capacity):
+        self.lines = collections.deque(maxlen=capacity)
+        self.partial = ""
+        self.dropped = 0
+
+    def write(self, text):
+        parts = (self.partial + text).split("\n")
+        self.partial = parts.pop()
+        for line in parts:
+            if len(self.lines) == self.lines.maxlen:
+                self.dropped += 1
+            self.lines.append(line)
+        return len(text)
+
+    def getvalue(self):
+        head = [f"… {self.dropped} earlier line(s) dropped"] if self.dropped else []
+        tail = [self.partial] if self.partial else []
+        lines = head + list(self.lines) + tail
+        return "\n".join(lines) + "\n" if lines else ""
+
+
+def respond(message):
+    protocol.write(json.dumps(message, default=str) + "\n")
+    protocol.flush()
+
+
+def handle(request):
+    request_id = request.get("id")
+    if request.get("type") == "ping":
+        return {"id": request_id, "ok": True}
+
+    emails = request.get("emails") or []
+    log = TailLog(MAX_LOG_LINES)
+    try:
+        with contextlib.redirect_stdout(log):
+            results = scheduler.run_for_emails(emails, request.get("role"))
+        return {"id": request_id, "ok": True, "results": results, "log": log.getvalue()}
+    except Exception as e:
+        return {"id": request_id, "ok": False, "error": str(e), "log": log.getvalue()}
+
+
+def main():
+    respond({"type": "ready", "pid": os.getpid()})
+    while True:
+        line = sys.stdin.readline()
+        if not line:
+            break  # backend closed stdin (shutdown or replacement)
+        line = line.strip()
+        if not line:
+            continue
+        try:
+            request = json.loads(line)
+        except ValueError as e:
+            respond({"ok": False, "error": f"Malformed request: {e}"})
+            continue
+        respond(handle(request))
+
+
+if __name__ == "__main__":
+    main()
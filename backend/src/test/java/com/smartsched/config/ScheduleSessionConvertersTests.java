@@ -0,0 +1,58 @@
+package com.smartsched.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smartsched.model.ScheduleSession;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScheduleSessionConvertersTests {
+
+	private static Document storedEntry() {
+		return new Document("course_id", "c1")
+				.append("course_name", "Computing")
+				.append("module_id", "m1")
+				.append("module_name", "Databases")
+				.append("group_id", "g1")
+				.append("group_name", "G1")
+				.append("instructor_id", "i1")
+				.append("instructor_name", "Dr. Silva")
+				.append("location", "Lab 1")
+				.append("day", "Monday")
+				.append("start_time", "08:00")
+				.append("end_time", "09:00")
+				.append("event", null)
+				.append("className", "g1")
+				.append("module", "Databases");
+	}
+
+	@Test
+	void storedEntryRoundTripsUnchanged() {
+		Document stored = storedEntry();
+		ScheduleSession session = new ScheduleSessionConverters.Reader().convert(stored);
+
+		assertEquals("Databases", session.getModuleName());
+		assertEquals("Databases", session.moduleKey());
+		assertNull(session.getEvent());
+		assertEquals(stored, new ScheduleSessionConverters.Writer().convert(session));
+	}
+
+	@Test
+	void jsonKeepsSnakeCaseFields() throws Exception {
+		ScheduleSession session = new ScheduleSessionConverters.Reader().convert(storedEntry());
+		JsonNode json = new ObjectMapper().readTree(new ObjectMapper().writeValueAsString(session));
+
+		List<String> fields = new ArrayList<>();
+		json.fieldNames().forEachRemaining(fields::add);
+		assertEquals(new ArrayList<>(storedEntry().keySet()), fields);
+		assertEquals("08:00", json.get("start_time").asText());
+		assertTrue(json.get("event").isNull());
+	}
+}
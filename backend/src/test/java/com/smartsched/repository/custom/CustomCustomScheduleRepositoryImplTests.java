@@ -0,0 +1,45 @@
+package com.smartsched.repository.custom;
+
+import com.smartsched.model.CustomSchedule;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class CustomCustomScheduleRepositoryImplTests {
+
+	private static CustomSchedule task(String id, String day, String time) {
+		CustomSchedule task = new CustomSchedule();
+		task.setId(id);
+		task.setEmail("a@uni.lk");
+		task.setTitle("Gym");
+		task.setDay(day);
+		task.setTime(time);
+		return task;
+	}
+
+	@Test
+	void movingATaskUpdatesItByIdAndSetsTheNewSlot() {
+		CustomSchedule moved = task("t1", "Tuesday", "14:00");
+
+		Document query = CustomCustomScheduleRepositoryImpl.byId(moved).getQueryObject();
+		Document set = (Document) CustomCustomScheduleRepositoryImpl.move(moved).getUpdateObject().get("$set");
+
+		assertEquals("t1", query.get("_id"));
+		assertEquals("a@uni.lk", query.get("email"));
+		assertFalse(query.containsKey("day"));
+		assertEquals("Tuesday", set.get("day"));
+		assertEquals("14:00", set.get("time"));
+		assertEquals("Gym", set.get("title"));
+	}
+
+	@Test
+	void newTasksAreKeyedBySlot() {
+		Document query = CustomCustomScheduleRepositoryImpl.slot(task(null, "Monday", "09:00")).getQueryObject();
+
+		assertEquals("Monday", query.get("day"));
+		assertEquals("09:00", query.get("time"));
+		assertFalse(query.containsKey("_id"));
+	}
+}
@@ -0,0 +1,40 @@
+package com.smartsched.repository.custom;
+
+import com.smartsched.dto.EnrollmentChange;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CustomStudentEnrollmentRepositoryImplTests {
+
+	@Test
+	void addCourseIsGuardedAndSetsEmptyEntries() {
+		EnrollmentChange change = new EnrollmentChange("e1", EnrollmentChange.Operation.ADD_COURSE, "BSc IT", null, null);
+
+		Document query = CustomStudentEnrollmentRepositoryImpl.query(change).getQueryObject();
+		Document update = CustomStudentEnrollmentRepositoryImpl.update(change).getUpdateObject();
+
+		assertEquals(new Document("$ne", "BSc IT"), query.get("courses"));
+		assertEquals(new Document("courses", "BSc IT"), update.get("$addToSet"));
+		Document set = (Document) update.get("$set");
+		assertEquals(List.of(), set.get("courseModules.BSc IT"));
+		assertEquals(true, set.containsKey("courseClasses.BSc IT"));
+	}
+
+	@Test
+	void moduleChangesTargetOneCoursePath() {
+		EnrollmentChange change = new EnrollmentChange("e1", EnrollmentChange.Operation.REMOVE_MODULE, "BSc IT", "Databases", null);
+
+		Document query = CustomStudentEnrollmentRepositoryImpl.query(change).getQueryObject();
+		Document update = CustomStudentEnrollmentRepositoryImpl.update(change).getUpdateObject();
+
+		assertEquals(new Document("$exists", true), query.get("courseModules.BSc IT"));
+		assertEquals(new Document("courseModules.BSc IT", "Databases"), update.get("$pull"));
+		assertThrows(IllegalArgumentException.class, () -> CustomStudentEnrollmentRepositoryImpl.update(
+				new EnrollmentChange("e1", EnrollmentChange.Operation.ADD_MODULE, "a.b", "Databases", null)));
+	}
+}
@@ -0,0 +1,51 @@
+package com.smartsched.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JwtTokenUtilTests {
+
+	private static final String SECRET = "VGhpcy1Jcy1BLVZlcnktU2VjdXJlLVJhbmRvbUtleS1Gb3ItSmV0";
+
+	@Test
+	void verifiesOnceAndServesRepeatsFromCache() {
+		JwtTokenUtil util = new JwtTokenUtil(SECRET, 16);
+		String token = util.generateToken("a@uni.lk", "admin");
+
+		JwtTokenUtil.VerifiedToken first = util.verify(token).orElseThrow();
+		assertEquals("a@uni.lk", first.email());
+		assertEquals("ADMIN", first.role());
+		assertSame(first, util.verify(token).orElseThrow());
+	}
+
+	@Test
+	void rejectsTamperedTokensAndForeignSignatures() {
+		JwtTokenUtil util = new JwtTokenUtil(SECRET, 16);
+		String token = util.generateToken("a@uni.lk", "admin");
+		String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+		String foreign = new JwtTokenUtil("QW5vdGhlci1TZWNyZXQtS2V5LUZvci1UZXN0aW5nLU9ubHkh", 16)
+				.generateToken("a@uni.lk", "superadmin");
+
+		assertEquals(Optional.empty(), util.verify(tampered));
+		assertEquals(Optional.empty(), util.verify(foreign));
+		assertTrue(new JwtTokenUtil(SECRET, 0).verify(token).isPresent());
+	}
+
+	@Test
+	void streamTokensAreScopedToOneJob() {
+		JwtTokenUtil util = new JwtTokenUtil(SECRET, 16);
+
+		JwtTokenUtil.VerifiedToken stream = util.verify(util.generateStreamToken("a@uni.lk", "SUPERADMIN", "job-1")).orElseThrow();
+		JwtTokenUtil.VerifiedToken session = util.verify(util.generateToken("a@uni.lk", "superadmin")).orElseThrow();
+
+		assertEquals("job-1", stream.jobId());
+		assertEquals("SUPERADMIN", stream.role());
+		assertNull(session.jobId());
+	}
+}
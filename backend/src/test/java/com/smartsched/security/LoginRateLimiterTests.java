@@ -0,0 +1,23 @@
+package com.smartsched.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LoginRateLimiterTests {
+
+	@Test
+	void throttlesAnAccountAcrossIpsAndAnIpAcrossAccounts() {
+		LoginRateLimiter limiter = new LoginRateLimiter(2, 1, 3, 1, 100, 10000);
+
+		assertEquals(0, limiter.tryAcquire("a@uni.lk", "10.0.0.1"));
+		assertEquals(0, limiter.tryAcquire("A@uni.lk", "10.0.0.2"));
+		assertTrue(limiter.tryAcquire("a@uni.lk", "10.0.0.3") > 0);
+
+		assertEquals(0, limiter.tryAcquire("b@uni.lk", "10.0.0.9"));
+		assertEquals(0, limiter.tryAcquire("c@uni.lk", "10.0.0.9"));
+		assertEquals(0, limiter.tryAcquire("d@uni.lk", "10.0.0.9"));
+		assertTrue(limiter.tryAcquire("e@uni.lk", "10.0.0.9") > 0);
+	}
+}
@@ -0,0 +1,105 @@
+package com.smartsched.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smartsched.model.AllClassAssignment;
+import com.smartsched.model.AllCourse;
+import com.smartsched.model.AllGroups;
+import com.smartsched.model.AllModule;
+import com.smartsched.model.InstructorAssignment;
+import com.smartsched.repository.AllClassAssignmentRepository;
+import com.smartsched.repository.AllCourseRepository;
+import com.smartsched.repository.InstructorAssignmentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ClassAssignmentImportServiceTests {
+
+	private final List<List<AllClassAssignment>> batches = new ArrayList<>();
+	private AllClassAssignmentRepository assignments;
+	private ClassAssignmentImportService importer;
+
+	@BeforeEach
+	void setUp() {
+		AllGroups group = new AllGroups();
+		group.setGroupId("g1");
+		group.setGroupName("Y1S1");
+		AllModule module = new AllModule();
+		module.setModuleId("m1");
+		module.setTitle("Databases");
+		AllCourse course = new AllCourse();
+		course.setId("c1");
+		course.setName("BSc IT");
+		course.setGroups(List.of(group));
+		course.setModules(List.of(module));
+		InstructorAssignment instructor = new InstructorAssignment("Ann", "Perera", "ann@uni.lk");
+		instructor.setId("i1");
+
+		AllCourseRepository courses = mock(AllCourseRepository.class);
+		when(courses.findAll()).thenReturn(List.of(course));
+		InstructorAssignmentRepository instructors = mock(InstructorAssignmentRepository.class);
+		when(instructors.findAll()).thenReturn(List.of(instructor));
+		assignments = mock(AllClassAssignmentRepository.class);
+		when(assignments.insertUnordered(anyList())).thenAnswer(call -> {
+			batches.add(new ArrayList<>(call.<List<AllClassAssignment>>getArgument(0)));
+			return Map.of();
+		});
+
+		importer = new ClassAssignmentImportService(assignments, courses, instructors, new ObjectMapper(), 2, 10);
+	}
+
+	private Map<String, Object> run(String content, ClassAssignmentImportService.Format format) throws Exception {
+		return importer.importAssignments(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), format);
+	}
+
+	@Test
+	void importsValidCsvRowsInBatchesAndReportsBadRows() throws Exception {
+		String csv = """
+				courseId,groupId,moduleId,instructorId,location,date,startTime,endTime
+				c1,g1,m1,i1,"Lab 1, Block A",Monday,8:00,10:00
+				c1,g9,m1,i1,Lab 2,Monday,08:00,10:00
+				c1,g1,m1,i1,Lab 3,Tuesday,09:00,10:00
+				c1,g1,m1,i1,Lab 3,Funday,09:00,10:00
+				""";
+
+		Map<String, Object> report = run(csv, ClassAssignmentImportService.Format.CSV);
+
+		assertEquals(4, report.get("rows"));
+		assertEquals(2, report.get("imported"));
+		assertEquals(2, report.get("failed"));
+		assertEquals(1, batches.size());
+		AllClassAssignment first = batches.get(0).get(0);
+		assertEquals("Lab 1, Block A", first.getLocation());
+		assertEquals("Databases", first.getModuleName());
+		assertEquals("Ann Perera", first.getInstructorName());
+		assertEquals("08:00", first.getStartTime());
+		List<?> errors = (List<?>) report.get("errors");
+		assertEquals(3, ((Map<?, ?>) errors.get(0)).get("row"));
+		assertEquals(5, ((Map<?, ?>) errors.get(1)).get("row"));
+	}
+
+	@Test
+	void reportsInvalidJsonAndRejectedInsertsByLine() throws Exception {
+		when(assignments.insertUnordered(anyList())).thenReturn(Map.of(0, "E11000 duplicate key"));
+		String ndjson = """
+				{"courseId":"c1","groupId":"g1","moduleId":"m1","instructorId":"i1","location":"Lab 1","date":"Friday","startTime":"13:00","endTime":"15:00"}
+				{"courseId":"c1",
+				""";
+
+		Map<String, Object> report = run(ndjson, ClassAssignmentImportService.Format.NDJSON);
+
+		assertEquals(2, report.get("rows"));
+		assertEquals(0, report.get("imported"));
+		assertEquals(2, report.get("failed"));
+	}
+}
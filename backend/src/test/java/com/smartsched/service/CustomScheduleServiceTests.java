@@ -0,0 +1,37 @@
+package com.smartsched.service;
+
+import com.smartsched.model.CustomSchedule;
+import com.smartsched.repository.CustomScheduleRepository;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CustomScheduleServiceTests {
+
+	@Test
+	void movingAnExistingTaskUpdatesItInsteadOfInsertingACopy() {
+		CustomScheduleRepository repository = mock(CustomScheduleRepository.class);
+		CustomSchedule task = new CustomSchedule("a@uni.lk", "Tuesday", "14:00", "Gym", null, null, null);
+		task.setId("t1");
+		when(repository.updateById(task)).thenReturn(task);
+
+		assertSame(task, new CustomScheduleService(repository).saveOrUpdate(task));
+		verify(repository, never()).upsertByEmailAndDayAndTime(any());
+	}
+
+	@Test
+	void newTasksAreUpsertedBySlot() {
+		CustomScheduleRepository repository = mock(CustomScheduleRepository.class);
+		CustomSchedule task = new CustomSchedule("a@uni.lk", "Monday", "09:00", "Gym", null, null, null);
+
+		new CustomScheduleService(repository).saveOrUpdate(task);
+
+		verify(repository).upsertByEmailAndDayAndTime(task);
+		verify(repository, never()).updateById(any());
+	}
+}
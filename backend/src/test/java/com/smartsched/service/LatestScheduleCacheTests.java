@@ -0,0 +1,88 @@
+package com.smartsched.service;
+
+import com.smartsched.model.GeneratedSchedule;
+import com.smartsched.model.ScheduleSession;
+import com.smartsched.repository.GeneratedScheduleRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LatestScheduleCacheTests {
+
+	private static GeneratedSchedule schedule(String email, int entries) {
+		List<ScheduleSession> timetable = new ArrayList<>();
+		for (int i = 0; i < entries; i++) {
+			timetable.add(new ScheduleSession("c", "Course", "m" + i, "m" + i, "g", "g", "i", "i",
+					"r", "Monday", "08:00", "09:00", null, "g", null));
+		}
+		GeneratedSchedule schedule = new GeneratedSchedule();
+		schedule.setUserEmail(email);
+		schedule.setTimetable(timetable);
+		return schedule;
+	}
+
+	@Test
+	void evictsLeastRecentlyUsedByTimetableSize() {
+		GeneratedScheduleRepository repository = mock(GeneratedScheduleRepository.class);
+		when(repository.findTopByUserEmailAndTimetableNotNullOrderByGeneratedAtDesc(anyString()))
+				.thenAnswer(call -> schedule(call.getArgument(0), 4));
+		LatestScheduleCache cache = new LatestScheduleCache(repository, 10);
+
+		cache.get("a");
+		cache.get("b");
+		cache.get("a");
+		cache.get("c"); // 3 × 5 > 10, so b (least recently used) goes
+
+		Map<String, Object> stats = cache.stats();
+		assertEquals(2, stats.get("size"));
+		assertEquals(1L, stats.get("evictions"));
+		assertEquals(1L, stats.get("hits"));
+
+		cache.get("a");
+		verify(repository, times(1)).findTopByUserEmailAndTimetableNotNullOrderByGeneratedAtDesc("a");
+	}
+
+	@Test
+	void savingScheduleInvalidatesEntry() {
+		GeneratedScheduleRepository repository = mock(GeneratedScheduleRepository.class);
+		GeneratedSchedule first = schedule("a", 1);
+		GeneratedSchedule second = schedule("a", 2);
+		when(repository.findTopByUserEmailAndTimetableNotNullOrderByGeneratedAtDesc("a")).thenReturn(first, second);
+		LatestScheduleCache cache = new LatestScheduleCache(repository, 100);
+
+		assertSame(first, cache.get("a"));
+		assertSame(first, cache.get("a"));
+		cache.onAfterSave(new AfterSaveEvent<>(second, null, "generated_schedules"));
+		assertSame(second, cache.get("a"));
+	}
+
+	@Test
+	void studentsOfTheSameGroupsShareTheNewerGroupSchedule() {
+		GeneratedScheduleRepository repository = mock(GeneratedScheduleRepository.class);
+		GeneratedSchedule own = schedule("a", 1);
+		own.setGeneratedAt(LocalDateTime.of(2025, 1, 1, 8, 0));
+		GeneratedSchedule shared = schedule(null, 3);
+		shared.setGroupKey("group:g1,g2");
+		shared.setGeneratedAt(LocalDateTime.of(2025, 2, 1, 8, 0));
+		when(repository.findTopByUserEmailAndTimetableNotNullOrderByGeneratedAtDesc("a")).thenReturn(own);
+		when(repository.findTopByGroupKeyAndTimetableNotNullOrderByGeneratedAtDesc("group:g1,g2")).thenReturn(shared);
+		LatestScheduleCache cache = new LatestScheduleCache(repository, 100);
+
+		assertSame(shared, cache.getForStudent("a", List.of("g2", "g1")));
+		assertSame(shared, cache.getForStudent("b", Set.of("g1", "g2")));
+		verify(repository, times(1)).findTopByGroupKeyAndTimetableNotNullOrderByGeneratedAtDesc("group:g1,g2");
+	}
+}
@@ -0,0 +1,152 @@
+package com.smartsched.service;
+
+import com.smartsched.model.OutboxMail;
+import com.smartsched.repository.MailOutboxRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class MailDispatcherTests {
+
+	private SmtpStandIn smtp;
+	private MailOutboxRepository repository;
+	private MailDispatcher dispatcher;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		smtp = new SmtpStandIn();
+		JavaMailSenderImpl sender = new JavaMailSenderImpl();
+		sender.setHost("127.0.0.1");
+		sender.setPort(smtp.port());
+		repository = mock(MailOutboxRepository.class);
+		dispatcher = new MailDispatcher(repository, sender, Executors.newSingleThreadScheduledExecutor(),
+				20, 10_000, 3, 1_000, 60_000);
+	}
+
+	@AfterEach
+	void tearDown() throws IOException {
+		smtp.close();
+	}
+
+	private static OutboxMail mail(String id, String to) {
+		OutboxMail mail = new OutboxMail(to, "noreply@smartsched.lk", "Hello", "Body of " + id);
+		mail.setId(id);
+		return mail;
+	}
+
+	@Test
+	void sendsWholeBatchOverOneConnection() {
+		dispatcher.sendBatch(List.of(mail("m1", "a@uni.lk"), mail("m2", "b@uni.lk"), mail("m3", "c@uni.lk")));
+
+		assertEquals(1, smtp.connections.get());
+		assertEquals(List.of("a@uni.lk", "b@uni.lk", "c@uni.lk"), smtp.delivered.stream().sorted().toList());
+		verify(repository).markSent("m1");
+		verify(repository).markSent("m2");
+		verify(repository).markSent("m3");
+	}
+
+	@Test
+	void rejectedRecipientIsRetriedWithoutBlockingTheRest() {
+		dispatcher.sendBatch(List.of(mail("m1", "a@uni.lk"), mail("m2", "reject@uni.lk")));
+
+		assertTrue(smtp.delivered.contains("a@uni.lk"));
+		verify(repository).markSent("m1");
+		verify(repository, never()).markSent("m2");
+		verify(repository).markRetry(eq("m2"), eq(1), any(), anyString());
+	}
+
+	// Minimal SMTP server: accepts everything except recipients containing "reject"
+	private static final class SmtpStandIn implements AutoCloseable {
+
+		final AtomicInteger connections = new AtomicInteger();
+		final List<String> delivered = new CopyOnWriteArrayList<>();
+		private final ServerSocket server = new ServerSocket(0, 10, InetAddress.getLoopbackAddress());
+
+		SmtpStandIn() throws IOException {
+			Thread thread = new Thread(this::serve, "smtp-stand-in");
+			thread.setDaemon(true);
+			thread.start();
+		}
+
+		int port() {
+			return server.getLocalPort();
+		}
+
+		private void serve() {
+			while (!server.isClosed()) {
+				try (Socket socket = server.accept()) {
+					connections.incrementAndGet();
+					converse(socket);
+				} catch (IOException e) {
+					return;
+				}
+			}
+		}
+
+		private void converse(Socket socket) throws IOException {
+			BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+			PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.US_ASCII);
+			reply(out, "220 stand-in ready");
+
+			String recipient = null;
+			String line;
+			while ((line = in.readLine()) != null) {
+				String command = line.toUpperCase();
+				if (command.startsWith("RCPT TO:")) {
+					if (line.contains("reject")) {
+						reply(out, "550 no such user");
+					} else {
+						recipient = line.substring(line.indexOf('<') + 1, line.indexOf('>'));
+						reply(out, "250 OK");
+					}
+				} else if (command.equals("DATA")) {
+					reply(out, "354 end with .");
+					while (!".".equals(in.readLine())) {
+						// message body
+					}
+					delivered.add(recipient);
+					recipient = null;
+					reply(out, "250 queued");
+				} else if (command.equals("QUIT")) {
+					reply(out, "221 bye");
+					return;
+				} else {
+					reply(out, "250 OK"); // EHLO, MAIL FROM, RSET, NOOP
+				}
+			}
+		}
+
+		private static void reply(PrintWriter out, String text) {
+			out.print(text + "\r\n");
+			out.flush();
+		}
+
+		@Override
+		public void close() throws IOException {
+			server.close();
+		}
+	}
+}
@@ -0,0 +1,68 @@
+package com.smartsched.service;
+
+import com.smartsched.repository.GeneratedScheduleRepository;
+import com.smartsched.repository.ScheduleCandidateRepository;
+import com.smartsched.repository.custom.CollectionStorage;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ScheduleRetentionServiceTests {
+
+	private final GeneratedScheduleRepository schedules = mock(GeneratedScheduleRepository.class);
+	private final ScheduleCandidateRepository candidates = mock(ScheduleCandidateRepository.class);
+
+	private ScheduleRetentionService service(boolean compact) {
+		return new ScheduleRetentionService(schedules, candidates, mock(ScheduledExecutorService.class), 3, 0, 0, compact);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void reportsDeletedSchedulesAndBytesReclaimed() {
+		when(schedules.storageStats()).thenReturn(
+				new CollectionStorage(10, 1000, 4096, 0, 512),
+				new CollectionStorage(4, 400, 4096, 2048, 256));
+		when(schedules.deleteAllButLatest(3)).thenReturn(6L);
+		when(candidates.storageStats()).thenReturn(new CollectionStorage(0, 0, 0, 0, 0));
+
+		ScheduleRetentionService service = service(false);
+		Map<String, Object> report = service.run();
+
+		Map<String, Object> result = (Map<String, Object>) report.get("generatedSchedules");
+		assertEquals(6L, result.get("deleted"));
+		assertEquals(600L, result.get("dataBytesReclaimed"));
+		assertEquals(256L, result.get("indexBytesReclaimed"));
+		assertEquals(256L, result.get("storageBytesReclaimed")); // freed blocks stay allocated without compact
+		assertFalse((Boolean) result.get("compacted"));
+		verify(schedules, never()).compact();
+		assertSame(report, service.getLastReport());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void refusedCompactIsReportedNotFatal() {
+		CollectionStorage empty = new CollectionStorage(0, 0, 0, 0, 0);
+		when(schedules.storageStats()).thenReturn(empty);
+		when(candidates.storageStats()).thenReturn(empty);
+		doThrow(new RuntimeException("not authorized")).when(schedules).compact();
+
+		Map<String, Object> report = service(true).run();
+
+		Map<String, Object> result = (Map<String, Object>) report.get("generatedSchedules");
+		assertFalse((Boolean) result.get("compacted"));
+		assertEquals("not authorized", result.get("compactError"));
+		assertTrue((Boolean) ((Map<String, Object>) report.get("generatedSchedulesAll")).get("compacted"));
+		verify(candidates).compact();
+	}
+}
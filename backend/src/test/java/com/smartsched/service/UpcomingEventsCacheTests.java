@@ -0,0 +1,49 @@
+package com.smartsched.service;
+
+import com.smartsched.model.Event;
+import com.smartsched.repository.EventRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UpcomingEventsCacheTests {
+
+	@Test
+	void queriesOncePerChange() {
+		EventRepository repository = mock(EventRepository.class);
+		when(repository.findByEventDateGreaterThanEqual(eq(LocalDate.now()), any(Pageable.class)))
+				.thenReturn(List.of(new Event()));
+		UpcomingEventsCache cache = new UpcomingEventsCache(repository, 60_000, 50);
+
+		List<Event> first = cache.get();
+		assertSame(first, cache.get());
+		verify(repository, times(1)).findByEventDateGreaterThanEqual(any(LocalDate.class), any(Pageable.class));
+
+		cache.onAfterSave(new AfterSaveEvent<>(new Event(), null, "events"));
+		assertEquals(1, cache.get().size());
+		verify(repository, times(2)).findByEventDateGreaterThanEqual(any(LocalDate.class), any(Pageable.class));
+	}
+
+	@Test
+	void sortsAndLimitsServerSide() {
+		EventRepository repository = mock(EventRepository.class);
+		when(repository.findByEventDateGreaterThanEqual(any(LocalDate.class), any(Pageable.class))).thenReturn(List.of());
+		new UpcomingEventsCache(repository, 0, 25).get();
+
+		verify(repository).findByEventDateGreaterThanEqual(LocalDate.now(),
+				PageRequest.of(0, 25, UpcomingEventsCache.ORDER));
+	}
+}
@@ -0,0 +1,85 @@
+package com.smartsched.service.ai;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class PythonWorkerPoolTests {
+
+	// Stand-in for scheduler_worker.py: same protocol, "hang@" never answers, "crash@" exits
+	private static final String FAKE_WORKER = """
+			import json, os, sys, time
+			print(json.dumps({"type": "ready", "pid": os.getpid()}), flush=True)
+			for line in sys.stdin:
+			    request = json.loads(line)
+			    emails = request.get("emails", [])
+			    if "hang@x" in emails:
+			        time.sleep(60)
+			    if "crash@x" in emails:
+			        sys.exit(3)
+			    results = [{"email": e, "scheduleId": "id-" + e} for e in emails]
+			    print(json.dumps({"id": request["id"], "ok": True, "results": results, "log": "pid %d" % os.getpid()}), flush=True)
+			""";
+
+	private final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1));
+
+	@AfterEach
+	void shutdown() {
+		executor.shutdownNow();
+	}
+
+	private PythonWorkerPool pool(Path dir) throws Exception {
+		assumeTrue(new File("/usr/bin/python3").canExecute(), "python3 not available");
+		Path script = dir.resolve("worker.py");
+		Files.writeString(script, FAKE_WORKER);
+		PythonWorkerPool pool = new PythonWorkerPool(new ObjectMapper(), executor, "python", 1,
+				"/usr/bin/python3", script.toString(), 10, 1500, 1000, 10000, 30000, 100);
+		pool.start();
+		return pool;
+	}
+
+	@Test
+	void runsJobsOnALongLivedWorker(@TempDir Path dir) throws Exception {
+		PythonWorkerPool pool = pool(dir);
+
+		JsonNode first = pool.submit(List.of("a@x", "b@x"), "student").get(10, TimeUnit.SECONDS);
+		JsonNode second = pool.submit(List.of("c@x"), "student").get(10, TimeUnit.SECONDS);
+
+		assertEquals("id-b@x", first.path("results").get(1).path("scheduleId").asText());
+		assertEquals(first.path("log").asText(), second.path("log").asText()); // same process served both
+	}
+
+	@Test
+	void replacesWorkerAfterTimeoutAndCrash(@TempDir Path dir) throws Exception {
+		PythonWorkerPool pool = pool(dir);
+		String pid = pool.submit(List.of("a@x"), "student").get(10, TimeUnit.SECONDS).path("log").asText();
+
+		CompletionException timeout = assertThrows(CompletionException.class,
+				() -> pool.submit(List.of("hang@x"), "student").join());
+		assertInstanceOf(IllegalStateException.class, timeout.getCause());
+		CompletionException crash = assertThrows(CompletionException.class,
+				() -> pool.submit(List.of("crash@x"), "student").join());
+		assertInstanceOf(IllegalStateException.class, crash.getCause());
+
+		JsonNode after = pool.submit(List.of("a@x"), "student").get(10, TimeUnit.SECONDS);
+		assertEquals("id-a@x", after.path("results").get(0).path("scheduleId").asText());
+		assertNotEquals(pid, after.path("log").asText());
+	}
+}
@@ -0,0 +1,63 @@
+package com.smartsched.service.scheduler;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DSaturSchedulerTests {
+
+	private static SolverSession session(String module, String group, String instructor, String room, String day) {
+		return new SolverSession("c1", "Course", module, module, group, group, instructor, instructor,
+				room, day, "08:00", "09:00");
+	}
+
+	@Test
+	void linksSessionsSharingAResourceOnTheSameDay() {
+		SchedulingProblem problem = SchedulingProblem.of(List.of(
+				session("m1", "g1", "i1", "r1", "Monday"),
+				session("m2", "g2", "i1", "r2", "Monday"),
+				session("m3", "g3", "i2", "r1", "Monday"),
+				session("m4", "g1", "i1", "r1", "Tuesday")));
+
+		int[][] graph = DSaturScheduler.conflictGraph(problem);
+
+		assertArrayEquals(new int[]{1, 2}, graph[0]);
+		assertArrayEquals(new int[]{0}, graph[1]);
+		assertArrayEquals(new int[]{0}, graph[2]);
+		assertArrayEquals(new int[]{}, graph[3]);
+	}
+
+	@Test
+	void colouringIsConflictFreeInOnePass() {
+		List<SolverSession> sessions = new ArrayList<>();
+		for (int i = 0; i < 48; i++) {
+			sessions.add(session("m" + i, "g" + (i % 4), "i" + (i % 5), "r" + (i % 6),
+					SchedulingProblem.DAYS.get(i % SchedulingProblem.DAYS.size())));
+		}
+		SchedulingProblem problem = SchedulingProblem.of(sessions);
+
+		ScheduleResult result = new DSaturScheduler(1).run(problem, new SplittableRandom(11));
+
+		assertEquals(0, result.getBest().fitness(problem));
+		assertEquals(0, result.getGenerations());
+	}
+
+	@Test
+	void seededPopulationStartsConflictFree() {
+		List<SolverSession> sessions = new ArrayList<>();
+		for (int i = 0; i < 9; i++) {
+			sessions.add(session("m" + i, "g1", "i" + (i % 3), "r" + (i % 2), "Monday"));
+		}
+		SchedulingProblem problem = SchedulingProblem.of(sessions);
+
+		ScheduleResult result = new GeneticScheduler(20, 50, 0.1, 2).run(problem, new SplittableRandom(5));
+
+		assertEquals(0, result.getBest().fitness(problem));
+		assertEquals(0, result.getGenerations());
+	}
+}
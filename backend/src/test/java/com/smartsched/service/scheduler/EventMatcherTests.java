@@ -0,0 +1,57 @@
+package com.smartsched.service.scheduler;
+
+import com.smartsched.model.Event;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class EventMatcherTests {
+
+	// 2030-01-07 is a Monday
+	private static Event event(String name, LocalDate date, String time) {
+		Event event = new Event();
+		event.setEventName(name);
+		event.setEventDate(date);
+		event.setEventTime(LocalTime.parse(time));
+		return event;
+	}
+
+	private static String name(Map<String, Object> summary) {
+		return summary != null ? (String) summary.get("eventName") : null;
+	}
+
+	@Test
+	void attachesClosestEventOnTheSameWeekdayWithinAnHour() {
+		LocalDate monday = LocalDate.of(2030, 1, 7);
+		EventMatcher matcher = new EventMatcher(List.of(
+				event("late", monday, "11:30"),
+				event("early", monday, "08:45"),
+				event("tuesday", monday.plusDays(1), "10:00"),
+				event("close", monday.plusWeeks(1), "10:10")));
+
+		assertEquals("close", name(matcher.match("Monday", "10:00")));
+		assertEquals("early", name(matcher.match("monday", "08:00")));
+		assertEquals("late", name(matcher.match("Monday", "12:30")));
+		assertEquals("tuesday", name(matcher.match("Tuesday", "09:00")));
+		assertNull(matcher.match("Monday", "13:00"));
+		assertNull(matcher.match("Wednesday", "10:00"));
+		assertNull(matcher.match("TBD", "--"));
+	}
+
+	@Test
+	void prefersEarlierEventAndEarlierDateOnTies() {
+		LocalDate monday = LocalDate.of(2030, 1, 7);
+		EventMatcher matcher = new EventMatcher(List.of(
+				event("after", monday, "10:30"),
+				event("before-next-week", monday.plusWeeks(1), "09:30"),
+				event("before", monday, "09:30")));
+
+		assertEquals("before", name(matcher.match("Monday", "10:00")));
+	}
+}
@@ -0,0 +1,93 @@
+package com.smartsched.service.scheduler;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GeneticSchedulerTests {
+
+	private static SolverSession session(String module, String group, String instructor, String room, String day) {
+		return new SolverSession("c1", "Course", module, module, group, group, instructor, instructor,
+				room, day, "08:00", "09:00");
+	}
+
+	@Test
+	void fitnessMatchesPythonPenalties() {
+		SchedulingProblem problem = SchedulingProblem.of(List.of(
+				session("m1", "g1", "i1", "r1", "Monday"),
+				session("m2", "g1", "i1", "r1", "Monday"),
+				session("m3", "g2", "i2", "r2", "Monday")));
+
+		// all three in one slot: 2 overlaps (5 each) + instructor, group and room clash (10 each)
+		assertEquals(40, FitnessFunction.calculate(problem, new int[]{0, 0, 0}));
+		assertEquals(0, FitnessFunction.calculate(problem, new int[]{0, 1, 2}));
+	}
+
+	@Test
+	void incrementalMovesMatchFullRecompute() {
+		SchedulingProblem problem = busyWeek();
+		SplittableRandom random = new SplittableRandom(3);
+		TimetableState state = TimetableState.of(problem, new int[problem.size()]);
+
+		for (int step = 0; step < 500; step++) {
+			int session = random.nextInt(problem.size());
+			int hour = random.nextInt(SchedulingProblem.START_HOURS);
+			int expected = state.penalty() + state.moveDelta(session, hour);
+
+			state.move(session, hour);
+
+			assertEquals(expected, state.penalty());
+			assertEquals(FitnessFunction.calculate(problem, state.hours()), state.penalty());
+		}
+	}
+
+	@Test
+	void duplicateSessionsAreCollapsed() {
+		SchedulingProblem problem = SchedulingProblem.of(List.of(
+				session("m1", "g1", "i1", "r1", "Monday"),
+				session("m1", "g1", "i1", "r2", "Tuesday")));
+
+		assertEquals(1, problem.size());
+	}
+
+	private static SchedulingProblem busyWeek() {
+		List<SolverSession> sessions = new ArrayList<>();
+		for (int i = 0; i < 40; i++) {
+			sessions.add(session("m" + i, "g" + (i % 4), "i" + (i % 5), "r" + (i % 6),
+					SchedulingProblem.DAYS.get(i % SchedulingProblem.DAYS.size())));
+		}
+		return SchedulingProblem.of(sessions);
+	}
+
+	@Test
+	void findsConflictFreeTimetable() {
+		SchedulingProblem problem = busyWeek();
+
+		ScheduleResult result = new GeneticScheduler(20, 200, 0.1).run(problem, new SplittableRandom(7));
+
+		assertEquals(0, result.getBest().fitness(problem));
+		assertEquals(20, result.getRankedPopulation().size());
+	}
+
+	@Test
+	void islandsFindConflictFreeTimetable() {
+		SchedulingProblem problem = busyWeek();
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			IslandGeneticScheduler islands = new IslandGeneticScheduler(
+					new GeneticScheduler(20, 200, 0.1), pool, 4, 5, 2);
+
+			ScheduleResult result = islands.run(problem, 7L);
+
+			assertEquals(0, result.getBest().fitness(problem));
+			assertEquals(80, result.getRankedPopulation().size());
+		} finally {
+			pool.shutdown();
+		}
+	}
+}
@@ -0,0 +1,76 @@
+package com.smartsched.service.scheduler;
+
+import com.smartsched.model.StudentEnrollment;
+import com.smartsched.repository.AllClassAssignmentRepository;
+import com.smartsched.repository.InstructorAssignmentRepository;
+import com.smartsched.repository.ModuleRepository;
+import com.smartsched.repository.StudentEnrollmentRepository;
+import com.smartsched.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SessionLoaderTests {
+
+	private static StudentEnrollment enrollment(String email, Map<String, String> courseClasses,
+												Map<String, List<String>> courseModules, String... courses) {
+		StudentEnrollment enrollment = enrollment(courseClasses, courseModules, courses);
+		enrollment.setEmail(email);
+		return enrollment;
+	}
+
+	private static StudentEnrollment enrollment(Map<String, String> courseClasses, Map<String, List<String>> courseModules,
+												String... courses) {
+		StudentEnrollment enrollment = new StudentEnrollment("A", "B", "a@uni.lk");
+		enrollment.setCourses(List.of(courses));
+		enrollment.setCourseClasses(courseClasses);
+		enrollment.setCourseModules(courseModules);
+		return enrollment;
+	}
+
+	private static SolverSession session(String module, String group) {
+		return new SolverSession("c1", "Course", module, module, group, group, "i1", "i1",
+				"r1", "Monday", "08:00", "09:00");
+	}
+
+	@Test
+	void groupKeyIgnoresClassesOfDroppedCourses() {
+		StudentEnrollment enrollment = enrollment(Map.of("SE", "g1", "Old", "g9"), Map.of(), "SE");
+
+		assertEquals(Set.of("g1"), enrollment.classGroupIds());
+	}
+
+	@Test
+	void sharedRunOnlyCoversStudentsWithoutUnscheduledModules() {
+		List<SolverSession> groupSessions = List.of(session("Maths", "g1"), session("Physics", "g1"));
+
+		StudentEnrollment covered = enrollment(Map.of("SE", "g1"), Map.of("SE", List.of("Maths", "Physics")), "SE");
+		StudentEnrollment missingModule = enrollment(Map.of("SE", "g1"), Map.of("SE", List.of("Maths", "Art")), "SE");
+
+		assertTrue(SessionLoader.coveredByGroups(covered, groupSessions));
+		assertFalse(SessionLoader.coveredByGroups(missingModule, groupSessions));
+	}
+
+	@Test
+	void groupMembersAreEveryStudentServedByTheSharedSchedule() {
+		StudentEnrollmentRepository enrollments = mock(StudentEnrollmentRepository.class);
+		SessionLoader loader = new SessionLoader(mock(UserRepository.class), enrollments,
+				mock(InstructorAssignmentRepository.class), mock(AllClassAssignmentRepository.class), mock(ModuleRepository.class));
+		List<SolverSession> groupSessions = List.of(session("Maths", "g1"));
+		when(enrollments.findByClassGroupIds(List.of("g1"))).thenReturn(List.of(
+				enrollment("a@uni.lk", Map.of("SE", "g1"), Map.of("SE", List.of("Maths")), "SE"),
+				enrollment("b@uni.lk", Map.of("SE", "g1"), Map.of("SE", List.of("Maths")), "SE"),
+				enrollment("c@uni.lk", Map.of("SE", "g1", "CS", "g2"), Map.of(), "SE", "CS"),
+				enrollment("d@uni.lk", Map.of("SE", "g1"), Map.of("SE", List.of("Art")), "SE")));
+
+		assertEquals(List.of("a@uni.lk", "b@uni.lk"), loader.groupMembers(List.of("g1"), groupSessions));
+	}
+}
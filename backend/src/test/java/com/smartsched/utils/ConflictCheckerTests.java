@@ -0,0 +1,90 @@
+package com.smartsched.utils;
+
+import com.smartsched.model.ConflictIssue;
+import com.smartsched.model.GeneratedSchedule;
+import com.smartsched.model.ScheduleSession;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConflictCheckerTests {
+
+	private static ScheduleSession session(String module, String group, String instructor, String room,
+										   String start, String end) {
+		return new ScheduleSession("c1", "Course", module, module, group, group, instructor, instructor,
+				room, "Monday", start, end, null, group, null);
+	}
+
+	private static GeneratedSchedule schedule(String email, ScheduleSession... sessions) {
+		GeneratedSchedule schedule = new GeneratedSchedule();
+		schedule.setUserEmail(email);
+		schedule.setTimetable(List.of(sessions));
+		return schedule;
+	}
+
+	@Test
+	void reportsPartialRoomOverlapAcrossUsers() {
+		List<ConflictIssue> issues = ConflictChecker.detectConflicts(List.of(
+				schedule("a@uni.lk", session("Databases", "g1", "i1", "Lab 1", "08:00", "09:30")),
+				schedule("b@uni.lk", session("Networks", "g2", "i2", "Lab 1", "09:00", "10:00"))));
+
+		assertEquals(1, issues.size());
+		ConflictIssue clash = issues.get(0);
+		assertEquals(ConflictIssue.Type.ROOM, clash.getType());
+		assertEquals("09:00", clash.getOverlapStart());
+		assertEquals("09:30", clash.getOverlapEnd());
+		assertEquals("a@uni.lk", clash.getUserEmail());
+		assertEquals("b@uni.lk", clash.getOtherUserEmail());
+	}
+
+	@Test
+	void onlyTheLatestGenerationOfAnOwnerIsChecked() {
+		GeneratedSchedule lastWeek = schedule("a@uni.lk", session("Databases", "g1", "i1", "Lab 1", "09:00", "10:00"));
+		lastWeek.setGeneratedAt(LocalDateTime.of(2025, 3, 3, 8, 0));
+		GeneratedSchedule today = schedule("a@uni.lk", session("Networks", "g1", "i2", "Lab 2", "09:00", "10:00"));
+		today.setGeneratedAt(LocalDateTime.of(2025, 3, 10, 8, 0));
+
+		assertTrue(ConflictChecker.detectConflicts(List.of(lastWeek, today)).isEmpty());
+		assertEquals(List.of(today), ConflictChecker.latestPerOwner(List.of(today, lastWeek)));
+	}
+
+	@Test
+	void sharedAndBackToBackSessionsAreNotConflicts() {
+		ScheduleSession lecture = session("Databases", "g1", "i1", "Lab 1", "08:00", "09:00");
+		List<ConflictIssue> issues = ConflictChecker.detectConflicts(List.of(
+				schedule("a@uni.lk", lecture, session("Networks", "g1", "i1", "Lab 1", "09:00", "10:00")),
+				schedule("b@uni.lk", lecture)));
+
+		assertTrue(issues.isEmpty());
+	}
+
+	@Test
+	void reportsEveryResourceOfAnOverlap() {
+		List<ConflictIssue> issues = ConflictChecker.detectConflicts(List.of(
+				schedule("a@uni.lk",
+						session("Databases", "g1", "i1", "Lab 1", "10:00", "12:00"),
+						session("Networks", "g1", "i1", "Lab 1", "11:00", "12:00"),
+						session("Algorithms", "g2", "i2", "Lab 2", "11:00", "11:30"))));
+
+		assertEquals(List.of(ConflictIssue.Type.INSTRUCTOR, ConflictIssue.Type.GROUP, ConflictIssue.Type.ROOM),
+				issues.stream().map(ConflictIssue::getType).toList());
+	}
+
+	@Test
+	void sweepsOneAggregatedLane() {
+		List<ConflictChecker.Interval> lane = List.of(
+				ConflictChecker.Interval.of("a@uni.lk", session("Databases", "g1", "i1", "Lab 1", "08:00", "10:00")),
+				ConflictChecker.Interval.of("b@uni.lk", session("Networks", "g2", "i2", "Lab 1", "09:00", "10:00")),
+				ConflictChecker.Interval.of("c@uni.lk", session("Algorithms", "g3", "i3", "Lab 1", "10:00", "11:00")));
+
+		List<ConflictIssue> issues = ConflictChecker.sweepLane(ConflictIssue.Type.ROOM, lane);
+
+		assertEquals(1, issues.size());
+		assertEquals("Lab 1", issues.get(0).getResource());
+		assertEquals("10:00", issues.get(0).getOverlapEnd());
+	}
+}
@@ -0,0 +1,28 @@
+package com.smartsched.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LogRingBufferTests {
+
+	@Test
+	void keepsAllLinesBelowCapacity() {
+		LogRingBuffer log = new LogRingBuffer(3);
+		log.append("first\n");
+		log.append("second");
+
+		assertEquals("first\nsecond\n", log.toString());
+		assertEquals(0, log.getDropped());
+	}
+
+	@Test
+	void dropsOldestLinesAndCountsThem() {
+		LogRingBuffer log = new LogRingBuffer(2);
+		log.append("a\nb\nc");
+		log.append("d");
+
+		assertEquals(2, log.getDropped());
+		assertEquals("… 2 earlier line(s) dropped\nc\nd\n", log.toString());
+	}
+}
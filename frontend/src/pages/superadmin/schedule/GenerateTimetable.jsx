@@ -79,21 +79,40 @@ export default function GenerateTimetable() {
     setSelectedEmails(Array.from(e.target.selectedOptions, (opt) => opt.value));
   };
 
-  const simulateProgress = () => {
-    let currentProgress = 0;
-    const interval = setInterval(() => {
-      currentProgress += Math.random() * 10;
-      if (currentProgress >= 90) {
-        currentProgress = 90; // Hold at 90% until actual completion
+  // Follow the queued job over SSE until it finishes, driving the bar from its real progress.
+  // EventSource cannot send the Authorization header, so it carries a short-lived stream token instead.
+  const waitForJob = async (jobId) => {
+    const { data } = await api.post(
+      `/api/schedule/jobs/${jobId}/events/token`,
+      null,
+      {
+        headers: {
+          Authorization: `Bearer ${localStorage.getItem("token")}`,
+        },
       }
-      setProgress(currentProgress);
-      setProgressMessage(
-        `Processing ${Math.floor(
-          (currentProgress / 90) * selectedEmails.length
-        )} of ${selectedEmails.length} timetables...`
+    );
+    return new Promise((resolve, reject) => {
+      const source = new EventSource(
+        `${api.defaults.baseURL}/api/schedule/jobs/${jobId}/events?token=${encodeURIComponent(data.token)}`
       );
-    }, 800);
-    return interval;
+      source.addEventListener("user", (e) => {
+        const update = JSON.parse(e.data);
+        setProgress(update.progress);
+        setProgressMessage(
+          `Processing ${update.completedUsers} of ${update.totalUsers} timetables...`
+        );
+      });
+      source.addEventListener("done", (e) => {
+        source.close();
+        const job = JSON.parse(e.data);
+        if (job.status === "SUCCEEDED") resolve(job);
+        else reject(new Error(job.error || "Generation failed."));
+      });
+      source.onerror = () => {
+        source.close();
+        reject(new Error("Lost connection to the generation job."));
+      };
+    });
   };
 
   const handleGenerate = async () => {
@@ -105,8 +124,7 @@ export default function GenerateTimetable() {
     try {
       setLoading(true);
       setProgress(0);
-      setProgressMessage("Initializing generation...");
-      const progressInterval = simulateProgress();
+      setProgressMessage("Queueing generation...");
 
       const res = await api.post(
         "/api/schedule/generate/bulk",
@@ -121,7 +139,7 @@ export default function GenerateTimetable() {
         }
       );
 
-      clearInterval(progressInterval);
+      const job = await waitForJob(res.data.jobId);
       setProgress(100);
       setProgressMessage("Finalizing timetables...");
 
@@ -132,10 +150,12 @@ export default function GenerateTimetable() {
         setProgressMessage("");
       }, 500);
 
-      console.log("✅ Response:", res.data);
+      console.log("✅ Job:", job);
     } catch (err) {
       console.error("❌ Bulk generation error:", err);
-      toast.error(err.response?.data?.message || "❌ Generation failed.");
+      toast.error(
+        err.response?.data?.message || err.message || "❌ Generation failed."
+      );
       setLoading(false);
       setProgress(0);
       setProgressMessage("");